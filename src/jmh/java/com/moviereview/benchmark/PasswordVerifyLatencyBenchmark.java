@@ -0,0 +1,47 @@
+package com.moviereview.benchmark;
+
+import com.moviereview.security.PasswordEncoders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the latency distribution of a single login verification at each
+ * BCrypt strength, using the same delegating encoder as the application.
+ * 
+ * SampleTime mode prints p50/p99/p99.9 per strength, so the
+ * auth.password.bcrypt-strength setting can be picked against the login p99
+ * budget. Remember that under load a login also waits in the hashing pool
+ * queue: with N workers and Q queued requests the worst case is roughly
+ * (Q / N + 1) verifications.
+ * 
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="PasswordVerifyLatencyBenchmark"
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordVerifyLatencyBenchmark {
+
+    private static final String PASSWORD = "password123";
+
+    @Param({"10", "11", "12", "13", "14"})
+    public int strength;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = PasswordEncoders.delegatingBCrypt(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,49 @@
+package com.moviereview.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Cache Configuration for Movie Review Application
+ * Configures bounded in-process Caffeine caches for the hottest read endpoints
+ * 
+ * - Caffeine evicts with W-TinyLFU, so a burst of one-off lookups cannot flush popular movies
+ * - recordStats in the spec lets actuator publish cache.gets (hit/miss), cache.puts and
+ *   cache.evictions under /actuator/metrics
+ * - The cache manager is transaction-aware: evictions issued inside a transaction are
+ *   applied after commit, so the evicted entry is not reloaded from uncommitted state
+ * - Entries expire 30 seconds after they are written. A read that loaded the movie before
+ *   a rating change committed can still put the old DTO back after the eviction; the
+ *   short TTL bounds how long that stale entry lives. Checking lastModified on every hit
+ *   would close the window but cost the database query the cache exists to avoid.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Finished MovieDTOs keyed by movie ID, served by GET /api/movies/{id}
+     */
+    public static final String MOVIE_DETAILS = "movieDetails";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.movie-details.spec:maximumSize=10000,expireAfterWrite=30s,recordStats}") String movieDetailsSpec,
+            @Value("${cache.transaction-aware:true}") boolean transactionAware) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(movieDetailsSpec));
+        cacheManager.setCacheNames(List.of(MOVIE_DETAILS));
+        cacheManager.setAllowNullValues(false);
+        // CaffeineCacheManager has no transaction-aware flag of its own; the proxy
+        // defers put/evict on its caches until the surrounding transaction commits
+        return transactionAware ? new TransactionAwareCacheManagerProxy(cacheManager) : cacheManager;
+    }
+}
@@ -0,0 +1,60 @@
+package com.moviereview.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviereview.metrics.EntityLoadCountingInterceptor;
+import com.moviereview.metrics.QueryMetricsInterceptor;
+import com.moviereview.metrics.QueryStatsSessionListener;
+import com.moviereview.metrics.TimedJacksonHttpMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Query Metrics Configuration
+ * Measures what each endpoint costs in SQL and serialization
+ * 
+ * - Hibernate statistics (hibernate.* meters under /actuator/metrics) are on unless
+ *   metrics.hibernate.statistics=false
+ * - Per-request JDBC statement count, entities loaded, database time and
+ *   serialization time are published as app.request.* meters tagged by
+ *   controller method (see QueryMetricsInterceptor)
+ * - metrics.query-count-header.enabled=true adds the X-Query-Count debug header
+ */
+@Configuration
+public class QueryMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateProperties(
+            @Value("${metrics.hibernate.statistics:true}") boolean generateStatistics) {
+        return properties -> {
+            properties.put(AvailableSettings.GENERATE_STATISTICS, generateStatistics);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryStatsSessionListener.class.getName());
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCountingInterceptor());
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer queryMetricsWebMvcConfigurer(MeterRegistry meterRegistry) {
+        QueryMetricsInterceptor interceptor = new QueryMetricsInterceptor(meterRegistry);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+        };
+    }
+
+    /**
+     * Replaces the default Jackson converter so JSON serialization time is measured
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+}
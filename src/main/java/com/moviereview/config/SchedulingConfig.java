@@ -0,0 +1,13 @@
+package com.moviereview.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs, such as the periodic rebuild of the
+ * trending movies leaderboard in MovieService.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
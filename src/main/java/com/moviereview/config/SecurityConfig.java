@@ -1,7 +1,14 @@
 package com.moviereview.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviereview.security.BoundedPasswordEncoder;
 import com.moviereview.security.JwtAuthenticationFilter;
+import com.moviereview.security.PasswordEncoders;
+import com.moviereview.security.RateLimitFilter;
+import com.moviereview.security.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -10,7 +17,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -19,6 +25,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 /**
@@ -33,6 +40,8 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -55,6 +64,9 @@ public class SecurityConfig {
                                 "/error", // Error page
                                 "/actuator/health" // Health check endpoint
                         ).permitAll()
+
+                        // Other actuator endpoints (metrics) are for admins only
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         
                         // Public read-only movie endpoints
                         .requestMatchers(HttpMethod.GET, "/api/movies/**").permitAll()
@@ -64,10 +76,13 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/api/movies/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/movies/**").hasRole("ADMIN")
                         
-                        // Public read-only review endpoints (movie reviews, recent reviews, and all reviews)
+                        // Public read-only review endpoints (movie reviews, recent reviews, paged all reviews)
                         .requestMatchers(HttpMethod.GET, "/api/reviews/movie/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/reviews/recent").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/reviews/all").permitAll()
+
+                        // Full export holds a pooled connection for the whole download - admins only
+                        .requestMatchers(HttpMethod.GET, "/api/reviews/export").hasRole("ADMIN")
                         
                         // Protected personal review endpoints - require authentication
                         .requestMatchers(HttpMethod.GET, "/api/reviews/my-reviews").authenticated()
@@ -81,7 +96,11 @@ public class SecurityConfig {
                         .anyRequest().authenticated())
 
                 // Add JWT authentication filter before UsernamePasswordAuthenticationFilter
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Rate limit login, registration, review submission and export; runs after
+                // the JWT filter so authenticated callers are also limited per user
+                .addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper), JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -149,10 +168,25 @@ public class SecurityConfig {
     /**
      * Password Encoder Bean
      * Uses BCrypt for password hashing (matches your database admin password
-     * format)
+     * format). The cost is set per deployment with auth.password.bcrypt-strength;
+     * existing hashes at another cost keep working and are rewritten at the
+     * configured one on the user's next login. Hashing runs on a bounded pool so
+     * login bursts are shed with a 503 instead of occupying every request thread;
+     * 0 threads means one per CPU.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${auth.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${auth.password-hashing.threads:0}") int threads,
+            @Value("${auth.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${auth.password-hashing.max-wait-ms:2000}") long maxWaitMs) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+                PasswordEncoders.delegatingBCrypt(bcryptStrength),
+                poolSize,
+                queueCapacity,
+                Duration.ofMillis(maxWaitMs),
+                meterRegistry);
     }
 }
@@ -2,13 +2,22 @@ package com.moviereview.controller;
 
 import com.moviereview.dto.LoginRequest;
 import com.moviereview.dto.LoginResponse;
+import com.moviereview.dto.RefreshTokenRequest;
 import com.moviereview.dto.UserRegistrationRequest;
+import com.moviereview.exception.ServiceOverloadedException;
 import com.moviereview.model.User;
+import com.moviereview.security.JwtClaims;
 import com.moviereview.security.JwtUtil;
+import com.moviereview.security.RateLimiter;
+import com.moviereview.security.TokenRevocationStore;
+import com.moviereview.service.RefreshTokenService;
 import com.moviereview.service.UserService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,7 +29,11 @@ import java.util.Optional;
 /**
  * Authentication Controller with JWT ##
  * Handles authentication endpoints at /auth/**
- * Provides login and registration functionality with JWT token generation
+ * Provides login, registration, token refresh and logout functionality with JWT token generation
+ * 
+ * Access tokens are short-lived; login and registration also return an opaque
+ * refresh token that POST /auth/refresh exchanges for a new pair without
+ * re-checking the password.
  */
 @RestController
 @RequestMapping("/auth")
@@ -31,15 +44,24 @@ public class AuthController {
     private final UserService userService;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final RateLimiter rateLimiter;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * User login endpoint with JWT
      * POST /auth/login
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         log.info("🔐 Login attempt for username: {}", loginRequest.getUsername());
 
+        // Per-IP limits are applied by RateLimitFilter; this caps password guesses
+        // against one account from one client. Only failures are charged, and the
+        // key includes the IP, so nobody can lock another user out of their account.
+        String loginKey = loginRequest.getUsername() + "@" + request.getRemoteAddr();
+        rateLimiter.checkAvailable(rateLimiter.loginRule(), RateLimiter.KEY_USER, loginKey);
+
         try {
             // Authenticate user using Spring Security
         authenticationManager.authenticate(
@@ -59,22 +81,20 @@ public class AuthController {
             User user = userOptional.get();
             log.info("✅ User authenticated: {} (email: {})", user.getUsername(), user.getEmail());
 
-            // Generate JWT token
-            String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
+            // Generate JWT access token and refresh token
+            LoginResponse response = tokenResponse(user, refreshTokenService.issue(user));
             log.info("🎟️ JWT token generated for user: {}", user.getUsername());
 
-            // Create response with JWT token
-            LoginResponse response = new LoginResponse(
-                    user.getId(),
-                    user.getUsername(),
-                    user.getEmail(),
-                    user.getRole(),
-                    token);
-
             log.info("✅ Login successful for user: {}", user.getUsername());
             return ResponseEntity.ok(response);
 
         } catch (AuthenticationException e) {
+            // The provider wraps anything thrown while looking up the user; a
+            // saturated hashing pool is not a bad password, let it become a 503
+            if (e.getCause() instanceof ServiceOverloadedException overloaded) {
+                throw overloaded;
+            }
+            rateLimiter.charge(rateLimiter.loginRule(), RateLimiter.KEY_USER, loginKey);
             log.warn("❌ Authentication failed for user: {} - {}", loginRequest.getUsername(), e.getMessage());
             return ResponseEntity.status(401).body("Invalid username or password");
         }
@@ -93,25 +113,87 @@ public class AuthController {
                     request.getEmail(),
                     request.getRole());
 
-            // Generate JWT token for the new user
-            String token = jwtUtil.generateToken(newUser.getUsername(), newUser.getRole());
+            // Generate JWT access token and refresh token for the new user
+            LoginResponse response = tokenResponse(newUser, refreshTokenService.issue(newUser));
             log.info("🎟️ JWT token generated for new user: {}", newUser.getUsername());
 
-            // Create response with JWT token
-            LoginResponse response = new LoginResponse(
-                    newUser.getId(),
-                    newUser.getUsername(),
-                    newUser.getEmail(),
-                    newUser.getRole(),
-                    token);
-
             log.info("✅ Registration successful for user: {}", newUser.getUsername());
             return ResponseEntity.ok(response);
 
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("❌ Registration failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    /**
+     * Token refresh endpoint
+     * POST /auth/refresh
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * The presented refresh token is consumed; no password hashing is involved.
+     * Unknown, expired or reused tokens are rejected with 401.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        log.debug("🔄 Tokens refreshed for user: {}", rotation.user().getUsername());
+        return ResponseEntity.ok(tokenResponse(rotation.user(), rotation.refreshToken()));
+    }
+
+    /**
+     * Logout endpoint
+     * POST /auth/logout
+     * Revokes the presented JWT so it is rejected from now on, instead of
+     * staying usable until it expires. If the refresh token is sent in the
+     * body, it and every token rotated from the same login are revoked too.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorizationHeader,
+            @RequestBody(required = false) RefreshTokenRequest refreshRequest) {
+        boolean refreshRevoked = false;
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshRequest.getRefreshToken());
+            refreshRevoked = true;
+        }
+
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            // The access token may already have expired; ending the refresh chain is enough
+            return refreshRevoked ? ResponseEntity.noContent().build() : ResponseEntity.status(401).body("Missing token");
+        }
+
+        JwtClaims claims;
+        try {
+            claims = jwtUtil.parseToken(authorizationHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("❌ Logout with invalid token: {}", e.getMessage());
+            return ResponseEntity.status(401).body("Invalid token");
+        }
+
+        if (claims.getTokenId() == null) {
+            // Issued before tokens carried a jti; it can only expire
+            return ResponseEntity.badRequest().body("Token cannot be revoked, it will expire at " + claims.getExpiration());
+        }
+
+        tokenRevocationStore.revoke(claims.getTokenId(), claims.getUsername(), claims.getExpiration().toInstant());
+        log.info("👋 Logout successful for user: {}", claims.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Build the token response for a user: a new short-lived access JWT plus the given refresh token
+     */
+    private LoginResponse tokenResponse(User user, String refreshToken) {
+        return LoginResponse.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .token(jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole()))
+                .refreshToken(refreshToken)
+                .expiresIn(jwtUtil.getExpirationSeconds())
+                .build();
+    }
 }
@@ -0,0 +1,63 @@
+package com.moviereview.controller;
+
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+
+/**
+ * HTTP conditional GET support for the movie and review read endpoints.
+ * 
+ * The version of a resource is a lastModified timestamp read before any heavy
+ * query runs. It is sent as both validators:
+ * - ETag: carries the full timestamp precision, so two changes within the
+ *   same second still produce different tags
+ * - Last-Modified: second precision, for clients that only send If-Modified-Since
+ * 
+ * Resources whose version is more than a timestamp (the movie list also
+ * depends on the movie count) use isNotModifiedByEtag and send no
+ * Last-Modified, since a date alone cannot tell the client about the change.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Checks If-None-Match / If-Modified-Since against the resource version and
+     * sets the ETag and Last-Modified response headers.
+     * 
+     * @param request The current request
+     * @param resource Name of the resource, part of the ETag (e.g. "movie-1")
+     * @param lastModified Version of the resource, or null if it is not tracked
+     * @return true if the client's copy is current; the response status is then
+     *         already 304 and the caller must not produce a body
+     */
+    static boolean isNotModified(WebRequest request, String resource, Instant lastModified) {
+        if (lastModified == null) {
+            return false;
+        }
+        return request.checkNotModified(etag(resource, lastModified), lastModified.toEpochMilli());
+    }
+
+    /**
+     * Checks If-None-Match only and sets the ETag response header; no
+     * Last-Modified is sent and If-Modified-Since is ignored.
+     * 
+     * @param request The current request
+     * @param resource Name of the resource including any other version parts
+     *                 (e.g. "movies-42" for a catalog of 42 movies)
+     * @param lastModified Latest change of the resource, or null if it is not tracked
+     * @return true if the client's copy is current; the response status is then
+     *         already 304 and the caller must not produce a body
+     */
+    static boolean isNotModifiedByEtag(WebRequest request, String resource, Instant lastModified) {
+        if (lastModified == null) {
+            return false;
+        }
+        return request.checkNotModified(etag(resource, lastModified));
+    }
+
+    private static String etag(String resource, Instant lastModified) {
+        return "\"" + resource + "-" + lastModified.getEpochSecond() + "." + lastModified.getNano() + "\"";
+    }
+}
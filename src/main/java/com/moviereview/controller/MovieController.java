@@ -1,16 +1,18 @@
 package com.moviereview.controller;
 
 import com.moviereview.dto.MovieDTO;
+import com.moviereview.dto.MovieSummaryDTO;
 import com.moviereview.exception.ResourceNotFoundException;
 import com.moviereview.model.Movie;
+import com.moviereview.repository.MovieRepository;
 import com.moviereview.service.MovieService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import jakarta.validation.Valid;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/movies")
@@ -19,28 +21,74 @@ public class MovieController {
 
     private final MovieService movieService;
 
-    // Browse all movies
+    // Browse all movies (answers 304 Not Modified when the catalog is unchanged).
+    // ETag only: a deletion lowers the movie count but not the latest change time,
+    // so If-Modified-Since would keep answering 304 with the movie still listed
     @GetMapping
-    public List<MovieDTO> getAllMovies() {
-        return movieService.getAllMovies().stream()
-                .map(this::convertToDtoWithAverageRating)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<MovieDTO>> getAllMovies(WebRequest request) {
+        MovieRepository.CatalogVersion version = movieService.getCatalogVersion();
+        if (ConditionalGet.isNotModifiedByEtag(request, "movies-" + version.getMovieCount(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(movieService.getAllMovies());
     }
 
     // Search movies
     @GetMapping("/search")
     public List<MovieDTO> searchMovies(@RequestParam String query) {
-        return movieService.searchMovies(query).stream()
-                .map(this::convertToDtoWithAverageRating)
-                .collect(Collectors.toList());
+        return movieService.searchMovies(query);
+    }
+
+    /**
+     * Type-ahead suggestions for the search box.
+     * Served from an in-memory title index, so it is cheap enough to call on
+     * every keystroke.
+     * 
+     * @param query Text typed so far
+     * @param limit Maximum number of suggestions (default 10, capped at 20)
+     * @return Matching movies, highest rated first
+     */
+    @GetMapping("/suggest")
+    public List<MovieSummaryDTO> suggestMovies(@RequestParam String query,
+                                               @RequestParam(defaultValue = "10") int limit) {
+        int safeLimit = Math.max(1, Math.min(limit, 20));
+        return movieService.suggestMovies(query, safeLimit);
     }
 
-    // View movie details by ID
+    /**
+     * Top rated movies for the homepage (movies with too few reviews are left out).
+     * 
+     * @param limit Maximum number of movies (default 100, capped at 100)
+     * @return Movies ordered by average rating, then review count
+     */
+    @GetMapping("/top")
+    public List<MovieSummaryDTO> getTopRatedMovies(@RequestParam(defaultValue = "100") int limit) {
+        int safeLimit = Math.max(1, Math.min(limit, 100));
+        return movieService.getTopRatedMovies(safeLimit);
+    }
+
+    /**
+     * Most reviewed movies this week for the homepage.
+     * 
+     * @param limit Maximum number of movies (default 20, capped at 100)
+     * @return Movies ordered by number of reviews in the last 7 days
+     */
+    @GetMapping("/trending")
+    public List<MovieSummaryDTO> getTrendingMovies(@RequestParam(defaultValue = "20") int limit) {
+        int safeLimit = Math.max(1, Math.min(limit, 100));
+        return movieService.getTrendingMovies(safeLimit);
+    }
+
+    // View movie details by ID (served from the movie details cache when warm,
+    // 304 Not Modified when the client's copy is current)
     @GetMapping("/{id}")
-    public ResponseEntity<MovieDTO> getMovieById(@PathVariable Long id) {
-        Movie movie = movieService.getMovieById(id)
+    public ResponseEntity<MovieDTO> getMovieById(@PathVariable Long id, WebRequest request) {
+        MovieDTO movie = movieService.getMovieDetails(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Movie not found with id: " + id));
-        return ResponseEntity.ok(convertToDtoWithAverageRating(movie));
+        if (ConditionalGet.isNotModified(request, "movie-" + id, movie.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(movie);
     }
 
     // Add a new movie
@@ -48,7 +96,7 @@ public class MovieController {
     public ResponseEntity<MovieDTO> addMovie(@Valid @RequestBody MovieDTO movieDto) {
         Movie movie = convertToEntity(movieDto);
         Movie savedMovie = movieService.saveMovie(movie);
-        return ResponseEntity.status(HttpStatus.CREATED).body(convertToDtoWithAverageRating(savedMovie));
+        return ResponseEntity.status(HttpStatus.CREATED).body(MovieDTO.fromEntity(savedMovie));
     }
 
     // Update a movie
@@ -66,7 +114,7 @@ public class MovieController {
         existingMovie.setDuration(movieDto.getDuration());
 
         Movie updatedMovie = movieService.saveMovie(existingMovie);
-        return ResponseEntity.ok(convertToDtoWithAverageRating(updatedMovie));
+        return ResponseEntity.ok(MovieDTO.fromEntity(updatedMovie));
     }
 
     /**
@@ -96,21 +144,6 @@ public class MovieController {
         }
     }
 
-    // Helper to convert Movie entity to DTO and include average rating
-    private MovieDTO convertToDtoWithAverageRating(Movie movie) {
-        MovieDTO dto = new MovieDTO();
-        dto.setId(movie.getId());
-        dto.setTitle(movie.getTitle());
-        dto.setDescription(movie.getDescription());
-        dto.setReleaseDate(movie.getReleaseDate());
-        dto.setDirector(movie.getDirector());
-        dto.setGenre(movie.getGenre());
-        dto.setPosterUrl(movie.getPosterUrl());
-        dto.setDuration(movie.getDuration());
-        dto.setAverageRating(movieService.getAverageRatingForMovie(movie.getId()));
-        return dto;
-    }
-
     // Helper to convert DTO to entity
     private Movie convertToEntity(MovieDTO dto) {
         Movie movie = new Movie();
@@ -1,28 +1,41 @@
 package com.moviereview.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moviereview.dto.ReviewDTO;
+import com.moviereview.dto.ReviewPageDTO;
 import com.moviereview.model.Review;
 import com.moviereview.model.User;
+import com.moviereview.security.AuthenticatedUser;
+import com.moviereview.service.ReviewCursor;
 import com.moviereview.service.ReviewService;
 import com.moviereview.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * REST Controller for managing movie reviews.
  * 
  * Endpoints:
  * - GET /api/reviews/movie/{movieId} - Public: Get all reviews for a movie
+ * - GET /api/reviews/movie/{movieId}/page?cursor=&size=20 - Public: Cursor-paginated reviews for a movie
  * - GET /api/reviews/recent?limit=10 - Public: Get most recent reviews (default: 10, max: 50)
- * - GET /api/reviews/all - Public: Get all reviews in the system (newest first)
+ * - GET /api/reviews/all?page=0&size=50 - Public: Get a page of all reviews (newest first)
+ * - GET /api/reviews/export - Admin, rate limited: Stream every review as a JSON array
  * - GET /api/reviews/my-reviews - Authenticated: Get current user's reviews
  * - POST /api/reviews/movie/{movieId} - Authenticated: Submit a new review
  * - PUT /api/reviews/{reviewId} - Authenticated: Update own review
@@ -41,19 +54,53 @@ public class ReviewController {
 
     private final ReviewService reviewService;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Retrieves all reviews for a specific movie.
      * Public endpoint - no authentication required.
+     * Answers 304 Not Modified, without querying the reviews, when the client's
+     * copy is still current.
      * 
      * @param movieId The ID of the movie to get reviews for
+     * @param request The current request, for If-None-Match / If-Modified-Since
      * @return List of ReviewDTO objects containing review details
      */
     @GetMapping("/movie/{movieId}")
-    public List<ReviewDTO> getReviewsByMovie(@PathVariable Long movieId) {
-        return reviewService.getReviewsForMovie(movieId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<ReviewDTO>> getReviewsByMovie(@PathVariable Long movieId, WebRequest request) {
+        Instant lastModified = reviewService.getReviewsLastModified(movieId).orElse(null);
+        if (ConditionalGet.isNotModified(request, "reviews-" + movieId, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(reviewService.getReviewsForMovie(movieId));
+    }
+
+    /**
+     * Retrieves one page of reviews for a specific movie, newest first.
+     * Public endpoint - no authentication required.
+     * Uses keyset pagination: pass the returned nextCursor to get the following page.
+     * 
+     * @param movieId The ID of the movie to get reviews for
+     * @param cursor Optional cursor from the previous page
+     * @param size Optional page size (default: 20, max: 100)
+     * @return ReviewPageDTO with the reviews and the cursor for the next page
+     */
+    @GetMapping("/movie/{movieId}/page")
+    public ReviewPageDTO getReviewPageByMovie(
+            @PathVariable Long movieId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        // Bound the page size to keep payloads small
+        int safeSize = Math.max(1, Math.min(size, 100));
+        ReviewCursor after = cursor != null && !cursor.isBlank() ? ReviewCursor.decode(cursor) : null;
+
+        Slice<ReviewDTO> page = reviewService.getReviewPageForMovie(movieId, after, safeSize);
+        List<ReviewDTO> reviews = page.getContent();
+        String nextCursor = page.hasNext() && !reviews.isEmpty()
+                ? ReviewCursor.after(reviews.get(reviews.size() - 1)).encode()
+                : null;
+
+        return new ReviewPageDTO(reviews, nextCursor, nextCursor != null);
     }
 
     /**
@@ -66,18 +113,13 @@ public class ReviewController {
     public List<ReviewDTO> getMyReviews() {
         // Extract authenticated user from JWT token in SecurityContext
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
         
-        // Look up user by username from JWT token
-        Optional<User> userOptional = userService.findByUsername(username);
-        if (userOptional.isEmpty()) {
+        Optional<Long> userId = currentUserId(authentication);
+        if (userId.isEmpty()) {
             return List.of(); // Return empty list if user not found (shouldn't happen with valid JWT)
         }
         
-        User user = userOptional.get();
-        return reviewService.getReviewsByUser(user.getId()).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return reviewService.getReviewsByUser(userId.get());
     }
 
     /**
@@ -93,23 +135,54 @@ public class ReviewController {
         // Limit the maximum number of reviews to prevent performance issues
         int safeLimit = Math.min(limit, 50);
         
-        return reviewService.getRecentReviews(safeLimit).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return reviewService.getRecentReviews(safeLimit);
     }
 
     /**
-     * Retrieves all reviews in the system.
+     * Retrieves one page of all reviews in the system.
      * Public endpoint - no authentication required.
-     * Returns all reviews ordered by creation date (newest first).
+     * Returns reviews ordered by creation date (newest first).
+     * Use /export to download every review in one response.
      * 
-     * @return List of all ReviewDTO objects in the system
+     * @param page Optional zero-based page number (default: 0)
+     * @param size Optional page size (default: 50, max: 100)
+     * @return List of ReviewDTO objects on the requested page
      */
     @GetMapping("/all")
-    public List<ReviewDTO> getAllReviews() {
-        return reviewService.getAllReviews().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public List<ReviewDTO> getAllReviews(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        // Bound the page size so a single request cannot load the whole table
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.max(1, Math.min(size, 100));
+
+        return reviewService.getAllReviews(safePage, safeSize).getContent();
+    }
+
+    /**
+     * Exports all reviews in the system as a JSON array.
+     * Admin only, and rate limited per user: the array is written incrementally
+     * while rows are read from a database cursor, so memory use stays flat, but
+     * each download holds a pooled connection until the client has read it all.
+     * 
+     * @return Streaming JSON array of all ReviewDTO objects (newest first)
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllReviews() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                reviewService.exportAllReviews(review -> {
+                    try {
+                        generator.writeObject(review);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     // Submit a review - User ID is extracted from JWT token
@@ -120,17 +193,15 @@ public class ReviewController {
         
         // Get authenticated user from security context
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
         
-        // Find user by username
-        Optional<User> userOptional = userService.findByUsername(username);
-        if (userOptional.isEmpty()) {
+        // User ID comes from the token claims
+        Optional<Long> userId = currentUserId(authentication);
+        if (userId.isEmpty()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        User user = userOptional.get();
-        Review savedReview = reviewService.submitReview(movieId, user.getId(), reviewDto.getRating(), reviewDto.getComment());
-        return ResponseEntity.status(HttpStatus.CREATED).body(convertToDto(savedReview));
+        Review savedReview = reviewService.submitReview(movieId, userId.get(), reviewDto.getRating(), reviewDto.getComment());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ReviewDTO.fromEntity(savedReview));
     }
 
     // Edit a review - User ID is extracted from JWT token
@@ -141,18 +212,16 @@ public class ReviewController {
         
         // Get authenticated user from security context
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
         
-        // Find user by username
-        Optional<User> userOptional = userService.findByUsername(username);
-        if (userOptional.isEmpty()) {
+        // User ID comes from the token claims
+        Optional<Long> userId = currentUserId(authentication);
+        if (userId.isEmpty()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        User user = userOptional.get();
-        Review updatedReview = reviewService.updateReview(reviewId, user.getId(), reviewDto.getRating(),
+        Review updatedReview = reviewService.updateReview(reviewId, userId.get(), reviewDto.getRating(),
                 reviewDto.getComment());
-        return ResponseEntity.ok(convertToDto(updatedReview));
+        return ResponseEntity.ok(ReviewDTO.fromEntity(updatedReview));
     }
 
     // Delete a review - User ID is extracted from JWT token, ADMIN can delete any review
@@ -160,35 +229,31 @@ public class ReviewController {
     public ResponseEntity<Void> deleteReview(@PathVariable Long reviewId) {
         // Get authenticated user from security context
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
         
-        // Find user by username
-        Optional<User> userOptional = userService.findByUsername(username);
-        if (userOptional.isEmpty()) {
+        // User ID comes from the token claims
+        Optional<Long> userId = currentUserId(authentication);
+        if (userId.isEmpty()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        User user = userOptional.get();
-        
         // Check if user has ADMIN role
         boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
         
         // Use overloaded method that supports admin privileges
-        reviewService.deleteReview(reviewId, user.getId(), isAdmin);
+        reviewService.deleteReview(reviewId, userId.get(), isAdmin);
         return ResponseEntity.noContent().build();
     }
 
-    private ReviewDTO convertToDto(Review review) {
-        ReviewDTO dto = new ReviewDTO();
-        dto.setId(review.getId());
-        dto.setMovieId(review.getMovie().getId());
-        dto.setMovieTitle(review.getMovie().getTitle());
-        dto.setUserId(review.getUser().getId());
-        dto.setUsername(review.getUser().getUsername());
-        dto.setRating(review.getRating());
-        dto.setComment(review.getComment());
-        dto.setReviewDate(review.getReviewDate());
-        return dto;
+    /**
+     * Resolves the authenticated user's ID from the signed "uid" token claim,
+     * so write endpoints need no users query. Tokens issued before the claim
+     * existed fall back to a lookup by username.
+     */
+    private Optional<Long> currentUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user && user.getUserId() != null) {
+            return Optional.of(user.getUserId());
+        }
+        return userService.findByUsername(authentication.getName()).map(User::getId);
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.moviereview.controller;
 
 import com.moviereview.model.User;
+import com.moviereview.security.AuthenticatedUser;
 import com.moviereview.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -22,10 +23,13 @@ public class UserController {
     public ResponseEntity<User> getMyProfile() {
         // Get authenticated user from security context
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
         
-        // Find user by username
-        Optional<User> userOptional = userService.findByUsername(username);
+        // Load by the ID from the token claims (primary key lookup); tokens
+        // issued before the "uid" claim existed fall back to the username
+        Optional<User> userOptional = authentication.getPrincipal() instanceof AuthenticatedUser user
+                && user.getUserId() != null
+                ? userService.findById(user.getUserId())
+                : userService.findByUsername(authentication.getName());
         if (userOptional.isEmpty()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -15,6 +15,8 @@ public class LoginResponse {
     private String username;
     private String email;
     private String role;
-    private String token; // JWT token
+    private String token; // JWT access token
+    private String refreshToken; // Opaque token for POST /auth/refresh
+    private Long expiresIn; // Access token lifetime in seconds
 
 }
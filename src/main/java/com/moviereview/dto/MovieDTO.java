@@ -1,12 +1,17 @@
 package com.moviereview.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.moviereview.model.Movie;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Data Transfer Object for Movie entities.
@@ -14,7 +19,7 @@ import java.time.LocalDate;
  * Purpose:
  * - Clean API contract for movie data exchange
  * - Excludes internal relationships (reviews collection) for performance
- * - Includes calculated averageRating field for display
+ * - Includes calculated averageRating, reviewCount and ratingDistribution fields for display
  * - Provides validation for movie creation/updates
  * 
  * Usage:
@@ -84,5 +89,70 @@ public class MovieDTO {
      */
     private double averageRating;
 
-    
+    /**
+     * Number of reviews behind averageRating
+     */
+    private int reviewCount;
+
+    /**
+     * Number of reviews per star rating, keyed 1 to 5
+     * Read from counters stored on the movie, never by scanning reviews
+     */
+    private Map<Integer, Integer> ratingDistribution;
+
+    /**
+     * Time of the last change to the movie or its reviews.
+     * Sent as the Last-Modified/ETag headers instead of in the body.
+     */
+    @JsonIgnore
+    private Instant lastModified;
+
+    /**
+     * Builds the API representation of a movie from its stored columns.
+     * Used by JPQL constructor expressions in MovieRepository, so list queries
+     * read the columns straight into DTOs without managed Movie entities.
+     */
+    public MovieDTO(Long id, String title, String description, LocalDate releaseDate, String director,
+                    String genre, String posterUrl, Integer duration, Double averageRating, Integer reviewCount,
+                    Integer rating1Count, Integer rating2Count, Integer rating3Count, Integer rating4Count,
+                    Integer rating5Count, Instant lastModified) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.releaseDate = releaseDate;
+        this.director = director;
+        this.genre = genre;
+        this.posterUrl = posterUrl;
+        this.duration = duration;
+        this.averageRating = averageRating != null ? averageRating : 0.0;
+        this.reviewCount = countOrZero(reviewCount);
+
+        Map<Integer, Integer> distribution = new LinkedHashMap<>();
+        distribution.put(1, countOrZero(rating1Count));
+        distribution.put(2, countOrZero(rating2Count));
+        distribution.put(3, countOrZero(rating3Count));
+        distribution.put(4, countOrZero(rating4Count));
+        distribution.put(5, countOrZero(rating5Count));
+        this.ratingDistribution = distribution;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Builds the API representation of a movie.
+     * Uses the avgRating column kept up to date by MovieService, so it never
+     * touches the reviews table.
+     * 
+     * @param movie The movie entity
+     * @return DTO including the stored average rating
+     */
+    public static MovieDTO fromEntity(Movie movie) {
+        return new MovieDTO(movie.getId(), movie.getTitle(), movie.getDescription(), movie.getReleaseDate(),
+                movie.getDirector(), movie.getGenre(), movie.getPosterUrl(), movie.getDuration(),
+                movie.getAvgRating(), movie.getRatingCount(), movie.getRating1Count(), movie.getRating2Count(),
+                movie.getRating3Count(), movie.getRating4Count(), movie.getRating5Count(), movie.getLastModified());
+    }
+
+    private static int countOrZero(Integer count) {
+        return count != null ? count : 0;
+    }
 }
\ No newline at end of file
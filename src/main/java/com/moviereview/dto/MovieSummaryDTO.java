@@ -0,0 +1,39 @@
+package com.moviereview.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight movie representation for type-ahead suggestions.
+ * 
+ * Purpose:
+ * - Carries only what a suggestion dropdown needs to render
+ * - Served from memory without loading the Movie entity
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MovieSummaryDTO {
+    /**
+     * Movie identifier, used to navigate to the movie details
+     */
+    private Long id;
+
+    /**
+     * Movie title as entered by the admin
+     */
+    private String title;
+
+    /**
+     * Average rating from all user reviews (0.0 when unreviewed)
+     */
+    private double averageRating;
+
+    /**
+     * Number of reviews behind averageRating
+     */
+    private int reviewCount;
+}
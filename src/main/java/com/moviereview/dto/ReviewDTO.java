@@ -1,5 +1,6 @@
 package com.moviereview.dto;
 
+import com.moviereview.model.Review;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -25,7 +26,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class ReviewDTO {
     /**
      * Review identifier - null for new reviews, populated for existing ones
@@ -76,4 +77,23 @@ public class ReviewDTO {
      */
     private LocalDateTime reviewDate;
 
-}
\ No newline at end of file
+    /**
+     * Builds the API representation of a review.
+     * The review's movie and user must be loaded (e.g. via JOIN FETCH).
+     * 
+     * @param review The review entity
+     * @return DTO with the movie title and username flattened in
+     */
+    public static ReviewDTO fromEntity(Review review) {
+        ReviewDTO dto = new ReviewDTO();
+        dto.setId(review.getId());
+        dto.setMovieId(review.getMovie().getId());
+        dto.setMovieTitle(review.getMovie().getTitle());
+        dto.setUserId(review.getUser().getId());
+        dto.setUsername(review.getUser().getUsername());
+        dto.setRating(review.getRating());
+        dto.setComment(review.getComment());
+        dto.setReviewDate(review.getReviewDate());
+        return dto;
+    }
+}
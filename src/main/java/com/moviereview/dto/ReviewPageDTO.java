@@ -0,0 +1,36 @@
+package com.moviereview.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a cursor-paginated review listing.
+ * 
+ * Usage:
+ * - Pass nextCursor back as the cursor parameter to fetch the following page
+ * - nextCursor is null when there are no more reviews
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewPageDTO {
+    /**
+     * Reviews on this page, newest first
+     */
+    private List<ReviewDTO> reviews;
+
+    /**
+     * Opaque token for the next page, null on the last page
+     */
+    private String nextCursor;
+
+    /**
+     * Whether another page is available
+     */
+    private boolean hasMore;
+}
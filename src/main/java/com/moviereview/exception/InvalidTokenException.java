@@ -0,0 +1,11 @@
+package com.moviereview.exception;
+
+/**
+ * Thrown when a presented token (such as a refresh token) is unknown, expired
+ * or has been revoked. Mapped to 401.
+ */
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.moviereview.exception;
+
+/**
+ * Thrown when a client has used up its request allowance for a route.
+ * Mapped to 429 with a Retry-After header.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,224 @@
+package com.moviereview.index;
+
+import com.moviereview.model.Movie;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory leaderboards for the homepage.
+ * 
+ * - Top rated: movies with at least movies.leaderboard.min-reviews reviews,
+ *   ordered by average rating, then review count
+ * - Trending: movies ordered by number of reviews written in the last 7 days
+ * 
+ * Each board is a concurrent skip list ordered by (score, ID) plus a map from
+ * movie ID to its current entry, so an update is a remove and an insert in
+ * O(log n) and reading the top K is a walk over the first K nodes. Reads take
+ * no lock. MovieService feeds rating changes and new reviews in after commit;
+ * the trending board is also rebuilt periodically so deletions and reviews
+ * ageing out of the window are reconciled.
+ * 
+ * A trending rebuild is bracketed by beginTrendingRebuild and rebuildTrending.
+ * New reviews recorded in between are replayed onto the rebuilt board before
+ * it is swapped in, so they are not lost until the next rebuild. A review
+ * committed just before the weekly count query but recorded after the
+ * bracket opened is counted twice; the next rebuild corrects it.
+ */
+@Component
+public class MovieLeaderboard {
+
+    private final int minReviews;
+
+    private volatile Ranking topRated = new Ranking();
+
+    private volatile Ranking trending = new Ranking();
+
+    /** Guards the trending swap against concurrent increments */
+    private final Object trendingLock = new Object();
+
+    /** New reviews per movie since beginTrendingRebuild, or null outside a rebuild */
+    private Map<Long, Long> reviewsDuringRebuild;
+
+    public MovieLeaderboard(@Value("${movies.leaderboard.min-reviews:5}") int minReviews) {
+        this.minReviews = minReviews;
+    }
+
+    /**
+     * Replaces the top rated board with the given movies.
+     * Like the trending board, the new board is built off to the side and
+     * swapped in, so readers never see an empty or half-built board.
+     * 
+     * @param movies All movies in the catalog
+     */
+    public void rebuildTopRated(Iterable<Movie> movies) {
+        Ranking rebuilt = new Ranking();
+        for (Movie movie : movies) {
+            int reviewCount = movie.getRatingCount() != null ? movie.getRatingCount() : 0;
+            if (reviewCount >= minReviews) {
+                rebuilt.put(movie.getId(), movie.getAvgRating() != null ? movie.getAvgRating() : 0.0, reviewCount);
+            }
+        }
+        topRated = rebuilt;
+    }
+
+    /**
+     * Moves a movie to its new position on the top rated board.
+     * Movies below the review threshold are kept off the board.
+     * 
+     * @param movieId The ID of the movie
+     * @param averageRating The movie's current average rating
+     * @param reviewCount The movie's current number of reviews
+     */
+    public void updateRating(Long movieId, double averageRating, int reviewCount) {
+        if (reviewCount >= minReviews) {
+            topRated.put(movieId, averageRating, reviewCount);
+        } else {
+            topRated.remove(movieId);
+        }
+    }
+
+    /**
+     * Starts collecting new reviews for the next trending rebuild.
+     * Call before querying the weekly review counts.
+     */
+    public void beginTrendingRebuild() {
+        synchronized (trendingLock) {
+            reviewsDuringRebuild = new HashMap<>();
+        }
+    }
+
+    /**
+     * Replaces the trending board with fresh weekly review counts.
+     * The new board is built off to the side and swapped in, so readers
+     * never see a half-built board. Reviews recorded since
+     * beginTrendingRebuild are added to it before the swap.
+     * 
+     * @param weeklyReviewCounts Movie ID to number of reviews in the last 7 days
+     */
+    public void rebuildTrending(Map<Long, Long> weeklyReviewCounts) {
+        Ranking rebuilt = new Ranking();
+        weeklyReviewCounts.forEach((movieId, count) -> rebuilt.put(movieId, count, 0));
+        synchronized (trendingLock) {
+            if (reviewsDuringRebuild != null) {
+                reviewsDuringRebuild.forEach(rebuilt::increment);
+                reviewsDuringRebuild = null;
+            }
+            trending = rebuilt;
+        }
+    }
+
+    /**
+     * Counts a newly written review towards the trending board.
+     * 
+     * @param movieId The ID of the reviewed movie
+     */
+    public void recordNewReview(Long movieId) {
+        synchronized (trendingLock) {
+            trending.increment(movieId, 1);
+            if (reviewsDuringRebuild != null) {
+                reviewsDuringRebuild.merge(movieId, 1L, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Removes a deleted movie from both boards.
+     * 
+     * @param movieId The ID of the deleted movie
+     */
+    public void remove(Long movieId) {
+        topRated.remove(movieId);
+        trending.remove(movieId);
+    }
+
+    /**
+     * @param limit Maximum number of movies
+     * @return IDs of the highest rated movies, best first
+     */
+    public List<Long> topRated(int limit) {
+        return topRated.top(limit);
+    }
+
+    /**
+     * @param limit Maximum number of movies
+     * @return IDs of the most reviewed movies this week, most reviewed first
+     */
+    public List<Long> trending(int limit) {
+        return trending.top(limit);
+    }
+
+    /**
+     * Position of one movie on a board: primary score, then secondary score,
+     * both descending, then movie ID ascending for a stable order.
+     */
+    private record Ranked(long movieId, double score, long secondary) {
+        static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score).reversed()
+                .thenComparing(Comparator.comparingLong(Ranked::secondary).reversed())
+                .thenComparingLong(Ranked::movieId);
+    }
+
+    /**
+     * A skip list of entries plus the current entry of each movie.
+     * Updates for one movie run inside ConcurrentHashMap.compute, so its old
+     * entry is always removed before the new one is inserted.
+     */
+    private static final class Ranking {
+        private final Map<Long, Ranked> byMovie = new ConcurrentHashMap<>();
+        private final NavigableSet<Ranked> ordered = new ConcurrentSkipListSet<>(Ranked.ORDER);
+
+        void put(long movieId, double score, long secondary) {
+            byMovie.compute(movieId, (id, previous) -> {
+                if (previous != null) {
+                    ordered.remove(previous);
+                }
+                Ranked ranked = new Ranked(movieId, score, secondary);
+                ordered.add(ranked);
+                return ranked;
+            });
+        }
+
+        void increment(long movieId, long delta) {
+            byMovie.compute(movieId, (id, previous) -> {
+                if (previous != null) {
+                    ordered.remove(previous);
+                }
+                Ranked ranked = new Ranked(movieId, previous != null ? previous.score() + delta : delta, 0);
+                ordered.add(ranked);
+                return ranked;
+            });
+        }
+
+        void remove(long movieId) {
+            byMovie.computeIfPresent(movieId, (id, previous) -> {
+                ordered.remove(previous);
+                return null;
+            });
+        }
+
+        List<Long> top(int limit) {
+            List<Long> result = new ArrayList<>(Math.min(limit, 128));
+            // A concurrent update can briefly expose a movie twice while it moves
+            Set<Long> seen = new HashSet<>();
+            for (Ranked ranked : ordered) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (seen.add(ranked.movieId())) {
+                    result.add(ranked.movieId());
+                }
+            }
+            return result;
+        }
+    }
+}
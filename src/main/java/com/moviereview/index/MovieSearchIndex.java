@@ -0,0 +1,209 @@
+package com.moviereview.index;
+
+import com.moviereview.model.Movie;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over movie title, director, genre and description.
+ * 
+ * Replaces the unindexable LIKE '%term%' scan for movie search:
+ * - Each field is tokenized and normalized (see TextNormalizer)
+ * - Each term maps to the movies containing it, with a field-weighted score
+ * - All query terms must match; the last one also matches as a prefix so
+ *   results update while the user is still typing
+ * - Results are ranked by total score, best match first
+ * 
+ * The index is built at startup and kept current by MovieService on every
+ * save and delete. Reads share a read lock, so searches never block each other.
+ */
+@Component
+public class MovieSearchIndex {
+
+    private static final int TITLE_WEIGHT = 8;
+    private static final int DIRECTOR_WEIGHT = 4;
+    private static final int GENRE_WEIGHT = 4;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * term -> (movie ID -> weight of the term in that movie)
+     */
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    /**
+     * movie ID -> terms indexed for it, used to remove stale postings on update
+     */
+    private final Map<Long, Set<String>> termsByMovie = new HashMap<>();
+
+    /**
+     * Replaces the whole index with the given movies.
+     * 
+     * @param movies All movies in the catalog
+     */
+    public void rebuild(Iterable<Movie> movies) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByMovie.clear();
+            for (Movie movie : movies) {
+                addPostings(movie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a movie to the index, replacing any previous version of it.
+     * 
+     * @param movie The saved movie (must have an ID)
+     */
+    public void index(Movie movie) {
+        lock.writeLock().lock();
+        try {
+            removePostings(movie.getId());
+            addPostings(movie);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a movie from the index.
+     * 
+     * @param movieId The ID of the deleted movie
+     */
+    public void remove(Long movieId) {
+        lock.writeLock().lock();
+        try {
+            removePostings(movieId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds movies matching every term of the query, best match first.
+     * 
+     * @param query Free-text search query
+     * @param limit Maximum number of movie IDs to return
+     * @return Matching movie IDs ranked by score (ties broken by ID)
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = TextNormalizer.tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (int i = 0; i < terms.size(); i++) {
+                boolean prefix = i == terms.size() - 1;
+                Map<Long, Integer> termScores = scoreTerm(terms.get(i), prefix);
+                scores = scores == null ? termScores : intersect(scores, termScores);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.<Long, Integer>comparingByKey()));
+
+            List<Long> result = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (int i = 0; i < ranked.size() && i < limit; i++) {
+                result.add(ranked.get(i).getKey());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of movies currently indexed
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsByMovie.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> scoreTerm(String term, boolean prefix) {
+        Map<Long, Integer> scores = new HashMap<>();
+        Map<Long, Integer> exact = postings.get(term);
+        if (exact != null) {
+            scores.putAll(exact);
+        }
+        if (prefix) {
+            // Words that merely start with the term count, but rank below exact matches
+            for (Map.Entry<String, Map<Long, Integer>> entry
+                    : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                entry.getValue().forEach((movieId, weight) -> scores.merge(movieId, Math.max(1, weight / 2), Math::max));
+            }
+        }
+        return scores;
+    }
+
+    private static Map<Long, Integer> intersect(Map<Long, Integer> left, Map<Long, Integer> right) {
+        Map<Long, Integer> result = new HashMap<>();
+        left.forEach((movieId, score) -> {
+            Integer other = right.get(movieId);
+            if (other != null) {
+                result.put(movieId, score + other);
+            }
+        });
+        return result;
+    }
+
+    private void addPostings(Movie movie) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, movie.getTitle(), TITLE_WEIGHT);
+        addField(weights, movie.getDirector(), DIRECTOR_WEIGHT);
+        addField(weights, movie.getGenre(), GENRE_WEIGHT);
+        addField(weights, movie.getDescription(), DESCRIPTION_WEIGHT);
+
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(movie.getId(), weight));
+        termsByMovie.put(movie.getId(), new HashSet<>(weights.keySet()));
+    }
+
+    private static void addField(Map<String, Integer> weights, String text, int weight) {
+        // A term counts once per field, so long descriptions cannot outweigh the title
+        for (String term : new HashSet<>(TextNormalizer.tokenize(text))) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private void removePostings(Long movieId) {
+        Set<String> terms = termsByMovie.remove(movieId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> movies = postings.get(term);
+            if (movies != null) {
+                movies.remove(movieId);
+                if (movies.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.moviereview.index;
+
+import com.moviereview.dto.ReviewDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lock-free ring buffer of the most recently written reviews.
+ * 
+ * Serves GET /api/reviews/recent from memory:
+ * - A writer claims the next sequence number with one atomic increment and
+ *   stores the review in slot (sequence % capacity), overwriting the oldest
+ * - Each slot remembers the sequence it was written for, so readers skip
+ *   slots that a concurrent writer has claimed but not yet filled
+ * - Edits and deletions swap a slot with compare-and-set; deleted reviews
+ *   leave an empty slot behind
+ * - Movie renames and deletions patch or empty every slot of that movie, so
+ *   buffered entries never show a stale title or a movie that is gone
+ * 
+ * The buffer is seeded from the database at startup and fed by ReviewService
+ * after each committed write. When it cannot answer a request in full, the
+ * caller falls back to the database.
+ */
+@Component
+public class RecentReviewBuffer {
+
+    private final int capacity;
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /**
+     * True when the seed query returned every review in the database, so that
+     * until the buffer wraps around it holds all reviews that exist
+     */
+    private volatile boolean seededWithAllReviews;
+
+    public RecentReviewBuffer(@Value("${reviews.recent.capacity:50}") int capacity) {
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @return Maximum number of reviews kept in memory
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Fills the buffer with the newest reviews from the database.
+     * 
+     * @param newestFirst Up to capacity reviews, newest first
+     */
+    public void seed(List<ReviewDTO> newestFirst) {
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            push(newestFirst.get(i));
+        }
+        seededWithAllReviews = newestFirst.size() < capacity;
+    }
+
+    /**
+     * Adds a newly written review as the newest entry.
+     * 
+     * @param review The committed review
+     */
+    public void push(ReviewDTO review) {
+        long sequence = nextSequence.getAndIncrement();
+        slots.set(index(sequence), new Slot(sequence, review));
+    }
+
+    /**
+     * Replaces a buffered review with its edited version, if it is buffered.
+     * 
+     * @param review The committed, edited review
+     */
+    public void update(ReviewDTO review) {
+        replace(review.getId(), previous -> review);
+    }
+
+    /**
+     * Removes a deleted review from the buffer, if it is buffered.
+     * 
+     * @param reviewId The ID of the deleted review
+     */
+    public void remove(Long reviewId) {
+        replace(reviewId, previous -> null);
+    }
+
+    /**
+     * Removes all buffered reviews of a deleted movie.
+     * 
+     * @param movieId The ID of the deleted movie
+     */
+    public void removeMovie(Long movieId) {
+        replaceAll(review -> movieId.equals(review.getMovieId()), previous -> null);
+    }
+
+    /**
+     * Updates the denormalized movie title of all buffered reviews of a movie.
+     * 
+     * @param movieId The ID of the saved movie
+     * @param title Its current title
+     */
+    public void renameMovie(Long movieId, String title) {
+        replaceAll(review -> movieId.equals(review.getMovieId()) && !Objects.equals(title, review.getMovieTitle()),
+                previous -> previous.toBuilder().movieTitle(title).build());
+    }
+
+    /**
+     * Returns the newest reviews, newest first, when the buffer can answer in full.
+     * 
+     * @param limit Number of reviews wanted
+     * @return The reviews, or empty if the caller has to query the database
+     */
+    public Optional<List<ReviewDTO>> latest(int limit) {
+        if (limit > capacity) {
+            return Optional.empty();
+        }
+
+        long end = nextSequence.get();
+        List<ReviewDTO> result = new ArrayList<>(limit);
+        for (long sequence = end - 1; sequence >= 0 && sequence >= end - capacity && result.size() < limit; sequence--) {
+            Slot slot = slots.get(index(sequence));
+            // Skip slots not yet written for this sequence, and deleted reviews
+            if (slot != null && slot.sequence == sequence && slot.review != null) {
+                result.add(slot.review);
+            }
+        }
+
+        boolean holdsAllReviews = seededWithAllReviews && end <= capacity;
+        return result.size() >= limit || holdsAllReviews ? Optional.of(result) : Optional.empty();
+    }
+
+    private void replace(Long reviewId, UnaryOperator<ReviewDTO> change) {
+        for (int i = 0; i < capacity; i++) {
+            Slot slot = slots.get(i);
+            while (slot != null && slot.review != null && slot.review.getId().equals(reviewId)) {
+                if (slots.compareAndSet(i, slot, new Slot(slot.sequence, change.apply(slot.review)))) {
+                    return;
+                }
+                slot = slots.get(i);
+            }
+        }
+    }
+
+    private void replaceAll(Predicate<ReviewDTO> match, UnaryOperator<ReviewDTO> change) {
+        for (int i = 0; i < capacity; i++) {
+            Slot slot = slots.get(i);
+            while (slot != null && slot.review != null && match.test(slot.review)) {
+                if (slots.compareAndSet(i, slot, new Slot(slot.sequence, change.apply(slot.review)))) {
+                    break;
+                }
+                slot = slots.get(i);
+            }
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    /**
+     * Immutable slot content; a null review marks a deleted entry
+     */
+    private record Slot(long sequence, ReviewDTO review) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.moviereview.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Text normalization shared by the in-memory movie indexes.
+ * 
+ * Lowercases, strips accents and splits on anything that is not a letter or
+ * digit, so "Amélie" and "amelie" index and match identically.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lowercases and removes accents, keeping punctuation and spacing.
+     * 
+     * @param text Text to normalize, may be null
+     * @return Normalized text, empty string for null input
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits text into normalized word tokens.
+     * 
+     * @param text Text to tokenize, may be null
+     * @return Tokens in order of appearance (may contain duplicates)
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
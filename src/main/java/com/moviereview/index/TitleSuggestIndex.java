@@ -0,0 +1,332 @@
+package com.moviereview.index;
+
+import com.moviereview.dto.MovieSummaryDTO;
+import com.moviereview.model.Movie;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prefix index over movie titles for type-ahead suggestions.
+ * 
+ * Every title is normalized once (see TextNormalizer) into a single char[],
+ * and the index is a sorted array of (title, word offset) pairs - one per word
+ * in the title - so "dark kn" finds "The Dark Knight". A lookup is a binary
+ * search for the first key starting with the query followed by a scan over
+ * the matching run, with no database access. The scan keeps only the best
+ * `limit` matches in a bounded heap, so short prefixes that match much of the
+ * catalog cost O(n log limit) rather than a full sort.
+ * 
+ * The sorted arrays are an immutable snapshot swapped in on every title
+ * change, so readers never lock. Ratings live in a separate map updated in
+ * place, since review writes are far more frequent than title edits.
+ */
+@Component
+public class TitleSuggestIndex {
+
+    /**
+     * Orders suggestions by rating, then popularity, then ID for stable output
+     */
+    private static final Comparator<MovieSummaryDTO> BEST_FIRST =
+            Comparator.comparingDouble(MovieSummaryDTO::getAverageRating).reversed()
+                    .thenComparing(Comparator.comparingInt(MovieSummaryDTO::getReviewCount).reversed())
+                    .thenComparing(MovieSummaryDTO::getId);
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Replaces the whole index with the given movies.
+     * 
+     * @param movies All movies in the catalog
+     */
+    public synchronized void rebuild(Iterable<Movie> movies) {
+        entries.clear();
+        List<Suffix> suffixes = new ArrayList<>();
+        for (Movie movie : movies) {
+            Entry entry = Entry.of(movie);
+            entries.put(entry.id, entry);
+            addSuffixes(suffixes, entry.id, entry.key);
+        }
+        suffixes.sort(Suffix.ORDER);
+        snapshot = Snapshot.of(suffixes);
+    }
+
+    /**
+     * Adds or updates a movie's title. Rating statistics already held for the
+     * movie are kept, since they may be newer than the entity being saved.
+     * 
+     * @param movie The saved movie (must have an ID)
+     */
+    public synchronized void index(Movie movie) {
+        boolean[] titleChanged = new boolean[1];
+        // One atomic step, so a concurrent rating delta is not overwritten
+        Entry entry = entries.compute(movie.getId(), (id, previous) -> {
+            Entry next = previous == null ? Entry.of(movie) : previous.withTitle(movie.getTitle());
+            titleChanged[0] = previous == null || !previous.title.equals(next.title);
+            return next;
+        });
+        if (titleChanged[0]) {
+            replaceSuffixes(entry.id, entry.key);
+        }
+    }
+
+    /**
+     * Removes a movie from the index.
+     * 
+     * @param movieId The ID of the deleted movie
+     */
+    public synchronized void remove(Long movieId) {
+        if (entries.remove(movieId) != null) {
+            replaceSuffixes(movieId, null);
+        }
+    }
+
+    /**
+     * Applies a committed rating change to a movie's statistics.
+     * Mirrors MovieService.recordRatingChange, so no read-back query is needed.
+     * 
+     * @param movieId The ID of the movie
+     * @param sumDelta Change to the rating sum
+     * @param countDelta Change to the review count
+     * @return The movie's updated summary, or null if it is not indexed
+     */
+    public MovieSummaryDTO applyRatingDelta(Long movieId, long sumDelta, int countDelta) {
+        Entry updated = entries.computeIfPresent(movieId,
+                (id, entry) -> entry.withRatings(entry.ratingSum + sumDelta, entry.ratingCount + countDelta));
+        return updated != null ? updated.toSummary() : null;
+    }
+
+    /**
+     * Overwrites a movie's rating statistics with freshly computed values.
+     * 
+     * @param movieId The ID of the movie
+     * @param ratingSum The total of all review ratings
+     * @param ratingCount The number of reviews
+     * @return The movie's updated summary, or null if it is not indexed
+     */
+    public MovieSummaryDTO setRatings(Long movieId, long ratingSum, int ratingCount) {
+        Entry updated = entries.computeIfPresent(movieId, (id, entry) -> entry.withRatings(ratingSum, ratingCount));
+        return updated != null ? updated.toSummary() : null;
+    }
+
+    /**
+     * Current summary of a single movie, without touching the database.
+     * 
+     * @param movieId The ID of the movie
+     * @return The movie's summary, or null if it is not indexed
+     */
+    public MovieSummaryDTO summary(Long movieId) {
+        Entry entry = entries.get(movieId);
+        return entry != null ? entry.toSummary() : null;
+    }
+
+    /**
+     * Finds movies with a title word starting with the query.
+     * 
+     * @param query Text typed so far
+     * @param limit Maximum number of suggestions
+     * @return Matching movies, highest rated first
+     */
+    public List<MovieSummaryDTO> suggest(String query, int limit) {
+        char[] prefix = String.join(" ", TextNormalizer.tokenize(query)).toCharArray();
+        if (prefix.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        Set<Long> seen = new HashSet<>();
+        // Min-heap on BEST_FIRST: the head is the weakest of the best matches so far
+        PriorityQueue<MovieSummaryDTO> best = new PriorityQueue<>(Math.min(limit, 64) + 1, BEST_FIRST.reversed());
+        for (int i = current.lowerBound(prefix); i < current.size() && current.startsWith(i, prefix); i++) {
+            long movieId = current.movieIds[i];
+            Entry entry = entries.get(movieId);
+            if (entry == null || !seen.add(movieId)) {
+                continue;
+            }
+            MovieSummaryDTO summary = entry.toSummary();
+            if (best.size() < limit) {
+                best.add(summary);
+            } else if (BEST_FIRST.compare(summary, best.peek()) < 0) {
+                best.poll();
+                best.add(summary);
+            }
+        }
+
+        List<MovieSummaryDTO> matches = new ArrayList<>(best);
+        matches.sort(BEST_FIRST);
+        return matches;
+    }
+
+    /**
+     * @return Number of movies currently indexed
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void replaceSuffixes(long movieId, char[] key) {
+        Snapshot current = snapshot;
+        List<Suffix> suffixes = new ArrayList<>(current.size() + 8);
+        for (int i = 0; i < current.size(); i++) {
+            if (current.movieIds[i] != movieId) {
+                suffixes.add(new Suffix(current.movieIds[i], current.keys[i], current.offsets[i]));
+            }
+        }
+        if (key != null) {
+            addSuffixes(suffixes, movieId, key);
+        }
+        // The retained suffixes are already in order, so this is close to a linear merge
+        suffixes.sort(Suffix.ORDER);
+        snapshot = Snapshot.of(suffixes);
+    }
+
+    private static void addSuffixes(List<Suffix> suffixes, long movieId, char[] key) {
+        for (int offset = 0; offset < key.length; offset++) {
+            if (offset == 0 || key[offset - 1] == ' ') {
+                suffixes.add(new Suffix(movieId, key, offset));
+            }
+        }
+    }
+
+    private static int compare(char[] key, int offset, char[] other) {
+        int length = Math.min(key.length - offset, other.length);
+        for (int i = 0; i < length; i++) {
+            int diff = key[offset + i] - other[i];
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (key.length - offset) - other.length;
+    }
+
+    /**
+     * Immutable per-movie data. All suffixes of a title share its single key array.
+     */
+    private static final class Entry {
+        private final long id;
+        private final String title;
+        private final char[] key;
+        private final long ratingSum;
+        private final int ratingCount;
+
+        private Entry(long id, String title, char[] key, long ratingSum, int ratingCount) {
+            this.id = id;
+            this.title = title;
+            this.key = key;
+            this.ratingSum = ratingSum;
+            this.ratingCount = ratingCount;
+        }
+
+        static Entry of(Movie movie) {
+            long sum = movie.getRatingSum() != null ? movie.getRatingSum() : 0L;
+            int count = movie.getRatingCount() != null ? movie.getRatingCount() : 0;
+            return new Entry(movie.getId(), movie.getTitle(), keyOf(movie.getTitle()), sum, count);
+        }
+
+        Entry withTitle(String newTitle) {
+            return title.equals(newTitle) ? this : new Entry(id, newTitle, keyOf(newTitle), ratingSum, ratingCount);
+        }
+
+        Entry withRatings(long newSum, int newCount) {
+            return new Entry(id, title, key, Math.max(0L, newSum), Math.max(0, newCount));
+        }
+
+        MovieSummaryDTO toSummary() {
+            // Same rounding as the avgRating column
+            double average = ratingCount == 0 ? 0.0 : Math.round((double) ratingSum / ratingCount * 100.0) / 100.0;
+            return new MovieSummaryDTO(id, title, average, ratingCount);
+        }
+
+        private static char[] keyOf(String title) {
+            return String.join(" ", TextNormalizer.tokenize(title)).toCharArray();
+        }
+    }
+
+    private record Suffix(long movieId, char[] key, int offset) {
+        static final Comparator<Suffix> ORDER = (a, b) -> {
+            int length = Math.min(a.key.length - a.offset, b.key.length - b.offset);
+            for (int i = 0; i < length; i++) {
+                int diff = a.key[a.offset + i] - b.key[b.offset + i];
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            int byLength = (a.key.length - a.offset) - (b.key.length - b.offset);
+            return byLength != 0 ? byLength : Long.compare(a.movieId, b.movieId);
+        };
+    }
+
+    /**
+     * Sorted parallel arrays of (movie ID, title key, word offset).
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new long[0], new char[0][], new int[0]);
+
+        private final long[] movieIds;
+        private final char[][] keys;
+        private final int[] offsets;
+
+        private Snapshot(long[] movieIds, char[][] keys, int[] offsets) {
+            this.movieIds = movieIds;
+            this.keys = keys;
+            this.offsets = offsets;
+        }
+
+        static Snapshot of(List<Suffix> sorted) {
+            long[] movieIds = new long[sorted.size()];
+            char[][] keys = new char[sorted.size()][];
+            int[] offsets = new int[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                Suffix suffix = sorted.get(i);
+                movieIds[i] = suffix.movieId();
+                keys[i] = suffix.key();
+                offsets[i] = suffix.offset();
+            }
+            return new Snapshot(movieIds, keys, offsets);
+        }
+
+        int size() {
+            return movieIds.length;
+        }
+
+        /**
+         * @return Index of the first suffix not ordered before the prefix
+         */
+        int lowerBound(char[] prefix) {
+            int low = 0;
+            int high = movieIds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(keys[mid], offsets[mid], prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        boolean startsWith(int index, char[] prefix) {
+            char[] key = keys[index];
+            int offset = offsets[index];
+            if (key.length - offset < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (key[offset + i] != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
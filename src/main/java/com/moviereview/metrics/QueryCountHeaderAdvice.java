@@ -0,0 +1,41 @@
+package com.moviereview.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Debug header reporting how many JDBC statements produced a response body,
+ * so N+1 regressions show up in staging without reading metrics.
+ * 
+ * Enabled with metrics.query-count-header.enabled=true. The header is set just
+ * before the body is written, so statements issued while serializing (lazy
+ * loading) are only visible in the app.request.jdbc.statements metric.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "metrics.query-count-header.enabled", havingValue = "true")
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-Query-Count";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set(HEADER, String.valueOf(stats.getStatements()));
+        }
+        return body;
+    }
+}
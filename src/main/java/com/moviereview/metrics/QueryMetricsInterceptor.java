@@ -0,0 +1,75 @@
+package com.moviereview.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects RequestQueryStats for every controller call and publishes them to
+ * Micrometer, tagged by controller class and method:
+ * - app.request.jdbc.statements - JDBC statements per request
+ * - app.request.entities.loaded - entities loaded by Hibernate per request
+ * - app.request.db.time - time spent executing statements
+ * - app.request.serialization.time - time spent writing the JSON body
+ * 
+ * Work done by filters before the controller (e.g. authentication) is not included.
+ */
+@RequiredArgsConstructor
+public class QueryMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStats.start();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // The response is completed on another thread and measured by the async dispatch
+        RequestQueryStats.finish();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestQueryStats stats = RequestQueryStats.finish();
+        if (stats == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+
+        Tags tags = Tags.of(
+                "controller", handlerMethod.getBeanType().getSimpleName(),
+                "method", handlerMethod.getMethod().getName());
+        DistributionSummary.builder("app.request.jdbc.statements")
+                .description("JDBC statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("app.request.entities.loaded")
+                .description("Entities loaded by Hibernate per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getEntitiesLoaded());
+        Timer.builder("app.request.db.time")
+                .description("Time spent executing JDBC statements per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getDatabaseNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("app.request.serialization.time")
+                .description("Time spent writing the JSON response body per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getSerializationNanos(), TimeUnit.NANOSECONDS);
+    }
+}
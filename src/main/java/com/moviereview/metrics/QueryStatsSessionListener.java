@@ -0,0 +1,51 @@
+package com.moviereview.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener that counts JDBC statements and times their
+ * execution for the current request.
+ * 
+ * Hibernate creates one instance per session (hibernate.session.events.auto),
+ * so the start timestamps need no synchronization.
+ */
+public class QueryStatsSessionListener implements SessionEventListener {
+
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementPrepared();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addDatabaseTime(executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addDatabaseTime(batchStart);
+    }
+
+    private void addDatabaseTime(long start) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.addDatabaseTime(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.moviereview.metrics;
+
+/**
+ * Database and serialization work done while handling one HTTP request.
+ * 
+ * Bound to the request thread by QueryMetricsInterceptor. The Hibernate
+ * callbacks and the JSON converter add to the stats of the current thread;
+ * work outside a request (startup, scheduled jobs) has no stats and is ignored.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entitiesLoaded;
+    private long databaseNanos;
+    private long serializationNanos;
+
+    private RequestQueryStats() {
+    }
+
+    /**
+     * @return Stats of the request handled by the current thread, or null outside a request
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void start() {
+        CURRENT.set(new RequestQueryStats());
+    }
+
+    static RequestQueryStats finish() {
+        RequestQueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void addDatabaseTime(long nanos) {
+        databaseNanos += nanos;
+    }
+
+    void addSerializationTime(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    /**
+     * @return Number of JDBC statements prepared so far
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return Number of entities Hibernate has loaded so far
+     */
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    /**
+     * @return Time spent executing JDBC statements, in nanoseconds
+     */
+    public long getDatabaseNanos() {
+        return databaseNanos;
+    }
+
+    /**
+     * @return Time spent writing JSON response bodies, in nanoseconds
+     */
+    public long getSerializationNanos() {
+        return serializationNanos;
+    }
+}
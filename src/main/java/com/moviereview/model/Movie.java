@@ -6,7 +6,9 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Set;
 
@@ -16,14 +18,21 @@ import java.util.Set;
  * Only ADMIN users can create, update, or delete movies.
  * All users (including anonymous) can view movies and their details.
  * 
- * The avgRating field is calculated dynamically based on user reviews
- * and is updated whenever reviews are added, modified, or deleted.
+ * The avgRating field is derived from the stored ratingSum and ratingCount,
+ * which are adjusted incrementally whenever reviews are added, modified, or deleted.
+ * The per-star counters (rating1Count..rating5Count) are maintained by the same
+ * statement, so the rating distribution can be read without scanning reviews.
+ * 
+ * lastModified changes on every write to the movie or to one of its reviews,
+ * and serves as the HTTP validator for movie and review read endpoints.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", indexes = {
+        @Index(name = "idx_movies_last_modified", columnList = "last_modified")
+})
 public class Movie {
     
     /**
@@ -86,10 +95,76 @@ public class Movie {
      * Calculated average rating from all user reviews.
      * Range: 0.0 to 5.0 (assuming 5-star rating system)
      * Automatically updated when reviews are added/modified/deleted.
+     * Not updatable through entity saves: the rating columns are only written by
+     * the bulk UPDATE statements in MovieRepository, so an admin editing movie
+     * details can never overwrite a concurrent rating change.
      */
-    @Column(columnDefinition = "DECIMAL(3,2) DEFAULT 0.0")
+    @Column(columnDefinition = "DECIMAL(3,2) DEFAULT 0.0", updatable = false)
     private Double avgRating = 0.0;
 
+    /**
+     * Running sum of all review ratings for this movie.
+     * Maintained with delta arithmetic on every review write so the average
+     * can be derived without reading the reviews table.
+     * The counters declare their DDL default with @ColumnDefault rather than a
+     * columnDefinition, because Hibernate uses the column type as the cast type
+     * of the delta parameters bound against them in MovieRepository.applyRatingDelta.
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long ratingSum = 0L;
+
+    /**
+     * Number of reviews contributing to ratingSum.
+     * avgRating is always ratingSum / ratingCount, rounded to 2 decimals.
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer ratingCount = 0;
+
+    /**
+     * Number of 1-star reviews. The five per-star counters always add up to ratingCount.
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer rating1Count = 0;
+
+    /**
+     * Number of 2-star reviews
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer rating2Count = 0;
+
+    /**
+     * Number of 3-star reviews
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer rating3Count = 0;
+
+    /**
+     * Number of 4-star reviews
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer rating4Count = 0;
+
+    /**
+     * Number of 5-star reviews
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer rating5Count = 0;
+
+    /**
+     * Time of the last change to the movie or any of its reviews.
+     * Set on insert and entity updates, and by the rating UPDATE statements in
+     * MovieRepository, which every review write goes through.
+     * Null for rows created before the column existed, until they next change.
+     */
+    private Instant lastModified;
+
     /**
      * One-to-many relationship with reviews for this movie.
      * When a movie is deleted, all associated reviews are also deleted.
@@ -99,5 +174,12 @@ public class Movie {
     @JsonIgnore
     private Set<Review> reviews;
 
-  
+    /**
+     * JPA lifecycle callback - records the time of every insert and entity update.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        lastModified = Instant.now();
+    }
 }
@@ -0,0 +1,70 @@
+package com.moviereview.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+/**
+ * An opaque refresh token issued alongside a short-lived access JWT.
+ * 
+ * Only the SHA-256 hash of the token is stored, so a leaked table cannot be
+ * replayed. Tokens are single use: each refresh marks the presented token as
+ * used and issues a new one in the same family. Presenting a token that was
+ * already used means it was copied, so the whole family is revoked.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        // Supports revoking every token of a family on reuse or logout
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        // Supports pruning expired tokens
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Hex SHA-256 of the token handed to the client
+     */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /**
+     * Shared by every token descended from the same login
+     */
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    /**
+     * The user the token was issued to.
+     * Tokens are removed together with the user.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private User user;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * When the token was exchanged for a new one; null while it is still usable
+     */
+    @Column(name = "used_at")
+    private Instant usedAt;
+}
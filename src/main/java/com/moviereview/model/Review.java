@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
  * Review entity representing user reviews and ratings for movies.
  * 
  * Business Rules:
- * - Each user can only review each movie once (enforced at service layer)
+ * - Each user can only review each movie once (enforced by a unique constraint on movie_id, user_id)
  * - Users can edit/delete their own reviews
  * - ADMIN users can delete any review for moderation purposes
  * - Reviews contribute to the movie's average rating calculation
@@ -26,8 +26,20 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // Supports keyset pagination of a movie's reviews ordered by (reviewDate, id)
+        @Index(name = "idx_reviews_movie_date_id", columnList = "movie_id, review_date, id"),
+        // Supports newest-first listings and the trending window scan
+        @Index(name = "idx_reviews_review_date", columnList = "review_date")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = Review.UNIQUE_MOVIE_USER_CONSTRAINT, columnNames = {"movie_id", "user_id"})
+})
 public class Review {
+
+    /**
+     * Name of the one-review-per-user constraint, used to recognise duplicate submissions
+     */
+    public static final String UNIQUE_MOVIE_USER_CONSTRAINT = "uk_reviews_movie_user";
     
     /**
      * Primary key - auto-generated unique identifier for each review
@@ -82,7 +94,10 @@ public class Review {
      * Timestamp when the review was created.
      * Automatically set when the review is first persisted.
      * Used for sorting reviews (newest first) and audit purposes.
+     * Part of the keyset pagination cursor (see ReviewCursor). Legacy rows may
+     * have no date; the review listing queries page through them last.
      */
+    @Column(updatable = false)
     private LocalDateTime reviewDate;
 
     /**
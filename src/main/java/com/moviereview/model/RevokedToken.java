@@ -0,0 +1,53 @@
+package com.moviereview.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A JWT that was revoked before it expired (for example on logout).
+ * 
+ * Identified by the token's "jti" claim. Rows are only needed until the token
+ * would have expired anyway; after that the signature check rejects it and the
+ * row is pruned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        // Supports pruning and loading of unexpired revocations
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+        // Supports picking up revocations made by other instances
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+})
+public class RevokedToken {
+
+    /**
+     * The token's "jti" claim
+     */
+    @Id
+    @Column(length = 64)
+    private String tokenId;
+
+    /**
+     * Subject of the revoked token, kept for auditing
+     */
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    /**
+     * When the revoked token expires; the row can be deleted after this
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * When the token was revoked
+     */
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
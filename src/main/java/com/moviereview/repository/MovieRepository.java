@@ -1,16 +1,195 @@
 package com.moviereview.repository;
 
+import com.moviereview.dto.MovieDTO;
 import com.moviereview.model.Movie;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface MovieRepository extends JpaRepository<Movie, Long> {
+    /**
+     * Select clause building MovieDTOs straight from the movie columns.
+     * Skips the managed entity, its dirty-checking snapshot and the reviews collection.
+     */
+    String DTO_SELECT = "SELECT new com.moviereview.dto.MovieDTO(m.id, m.title, m.description, m.releaseDate, "
+            + "m.director, m.genre, m.posterUrl, m.duration, m.avgRating, m.ratingCount, "
+            + "m.rating1Count, m.rating2Count, m.rating3Count, m.rating4Count, m.rating5Count, m.lastModified) "
+            + "FROM Movie m ";
+
     List<Movie> findByTitleContainingIgnoreCase(String title);
 
     List<Movie> findByGenreContainingIgnoreCase(String genre);
 
-    @Query("SELECT m FROM Movie m WHERE LOWER(m.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(m.genre) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Movie> searchMovies(@Param("searchTerm") String searchTerm);
+    /**
+     * Lists every movie as a DTO for the browse endpoint.
+     * 
+     * @return All movies, ordered by ID
+     */
+    @Query(DTO_SELECT + "ORDER BY m.id")
+    List<MovieDTO> findAllAsDto();
+
+    /**
+     * Loads the given movies as DTOs, in no particular order.
+     * 
+     * @param ids IDs of the movies to load
+     * @return DTOs of the movies that exist
+     */
+    @Query(DTO_SELECT + "WHERE m.id IN :ids")
+    List<MovieDTO> findAllAsDtoByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads when a movie or one of its reviews last changed, without loading the movie.
+     * 
+     * @param id The ID of the movie
+     * @return The last modification time; empty if the movie does not exist or
+     *         has not changed since the column was added
+     */
+    @Query("SELECT m.lastModified FROM Movie m WHERE m.id = :id")
+    Optional<Instant> findLastModifiedById(@Param("id") Long id);
+
+    /**
+     * Reads the version of the whole catalog: number of movies and latest change.
+     * Both are needed - deleting a movie lowers the count without touching lastModified,
+     * which is why the movie list is validated by ETag only.
+     * MAX is answered from idx_movies_last_modified.
+     * 
+     * @return Movie count and latest lastModified of all movies
+     */
+    @Query("SELECT COUNT(m) AS movieCount, MAX(m.lastModified) AS lastModified FROM Movie m")
+    CatalogVersion findCatalogVersion();
+
+    /**
+     * Applies a single review write to a movie's stored aggregates in one UPDATE:
+     * rating sum, review count, average and the per-star counters.
+     * The cost is independent of how many reviews the movie has.
+     * 
+     * avgRating is assigned first so that it is computed from the pre-update
+     * sum and count on databases that evaluate SET clauses left to right (MySQL).
+     * Also stamps lastModified, since every review write goes through here.
+     * 
+     * @param movieId The ID of the movie to update
+     * @param sumDelta Amount to add to the rating sum (negative to subtract)
+     * @param countDelta Amount to add to the review count (-1, 0 or 1)
+     * @param addedRating Star rating being added (1-5), or 0 if none
+     * @param removedRating Star rating being removed (1-5), or 0 if none
+     * @param modifiedAt Time of the review write
+     * @return Number of rows updated, 0 if the movie does not exist
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Movie m SET "
+            + "m.avgRating = CASE WHEN m.ratingCount + :countDelta > 0 "
+            + "THEN ROUND((m.ratingSum + :sumDelta) * 1.0 / (m.ratingCount + :countDelta), 2) ELSE 0.0 END, "
+            + "m.ratingSum = m.ratingSum + :sumDelta, "
+            + "m.ratingCount = m.ratingCount + :countDelta, "
+            + "m.rating1Count = m.rating1Count + CASE WHEN :addedRating = 1 THEN 1 ELSE 0 END - CASE WHEN :removedRating = 1 THEN 1 ELSE 0 END, "
+            + "m.rating2Count = m.rating2Count + CASE WHEN :addedRating = 2 THEN 1 ELSE 0 END - CASE WHEN :removedRating = 2 THEN 1 ELSE 0 END, "
+            + "m.rating3Count = m.rating3Count + CASE WHEN :addedRating = 3 THEN 1 ELSE 0 END - CASE WHEN :removedRating = 3 THEN 1 ELSE 0 END, "
+            + "m.rating4Count = m.rating4Count + CASE WHEN :addedRating = 4 THEN 1 ELSE 0 END - CASE WHEN :removedRating = 4 THEN 1 ELSE 0 END, "
+            + "m.rating5Count = m.rating5Count + CASE WHEN :addedRating = 5 THEN 1 ELSE 0 END - CASE WHEN :removedRating = 5 THEN 1 ELSE 0 END, "
+            + "m.lastModified = :modifiedAt "
+            + "WHERE m.id = :movieId")
+    int applyRatingDelta(@Param("movieId") Long movieId,
+                         @Param("sumDelta") long sumDelta,
+                         @Param("countDelta") int countDelta,
+                         @Param("addedRating") int addedRating,
+                         @Param("removedRating") int removedRating,
+                         @Param("modifiedAt") Instant modifiedAt);
+
+    /**
+     * Finds movies whose stored rating aggregates are missing or incomplete,
+     * e.g. rows created before ratingSum/ratingCount or the per-star counters existed.
+     * 
+     * @return IDs of movies whose aggregates need to be backfilled
+     */
+    @Query("SELECT m.id FROM Movie m WHERE "
+            + "(m.ratingCount = 0 AND EXISTS (SELECT 1 FROM Review r WHERE r.movie = m)) "
+            + "OR m.ratingCount <> m.rating1Count + m.rating2Count + m.rating3Count + m.rating4Count + m.rating5Count")
+    List<Long> findIdsWithMissingRatingAggregates();
+
+    /**
+     * Returns the next chunk of movie IDs in ascending order.
+     * Used for keyset iteration over the catalog without loading entities.
+     * 
+     * @param afterId Last ID of the previous chunk (0 to start)
+     * @param pageable Chunk size (page number should be 0)
+     * @return Up to pageable.getPageSize() movie IDs greater than afterId
+     */
+    @Query("SELECT m.id FROM Movie m WHERE m.id > :afterId ORDER BY m.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Recomputes the stored rating aggregates of every movie in an ID range
+     * from the reviews table, in a single set-based UPDATE.
+     * No entities are loaded; the database aggregates reviews per movie.
+     * 
+     * @param fromId First movie ID of the range (inclusive)
+     * @param toId Last movie ID of the range (inclusive)
+     * @param modifiedAt Time stamped into lastModified of every movie in the range
+     * @return Number of movies updated
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Movie m SET "
+            + "m.ratingSum = COALESCE((SELECT SUM(r.rating) FROM Review r WHERE r.movie.id = m.id), 0), "
+            + "m.ratingCount = (SELECT COUNT(r) FROM Review r WHERE r.movie.id = m.id), "
+            + "m.avgRating = COALESCE((SELECT ROUND(AVG(r.rating), 2) FROM Review r WHERE r.movie.id = m.id), 0.0), "
+            + "m.rating1Count = (SELECT COUNT(r) FROM Review r WHERE r.movie.id = m.id AND r.rating = 1), "
+            + "m.rating2Count = (SELECT COUNT(r) FROM Review r WHERE r.movie.id = m.id AND r.rating = 2), "
+            + "m.rating3Count = (SELECT COUNT(r) FROM Review r WHERE r.movie.id = m.id AND r.rating = 3), "
+            + "m.rating4Count = (SELECT COUNT(r) FROM Review r WHERE r.movie.id = m.id AND r.rating = 4), "
+            + "m.rating5Count = (SELECT COUNT(r) FROM Review r WHERE r.movie.id = m.id AND r.rating = 5), "
+            + "m.lastModified = :modifiedAt "
+            + "WHERE m.id BETWEEN :fromId AND :toId")
+    int recalculateRatingAggregates(@Param("fromId") Long fromId,
+                                    @Param("toId") Long toId,
+                                    @Param("modifiedAt") Instant modifiedAt);
+
+    /**
+     * Reads the stored rating aggregates of every movie in an ID range.
+     * 
+     * @param fromId First movie ID of the range (inclusive)
+     * @param toId Last movie ID of the range (inclusive)
+     * @return ID, rating sum and rating count per movie
+     */
+    @Query("SELECT m.id AS id, m.ratingSum AS ratingSum, m.ratingCount AS ratingCount "
+            + "FROM Movie m WHERE m.id BETWEEN :fromId AND :toId")
+    List<RatingSnapshot> findRatingSnapshots(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Reads the stored rating aggregates of one movie.
+     * 
+     * @param id The ID of the movie
+     * @return ID, rating sum and rating count, or empty if the movie does not exist
+     */
+    @Query("SELECT m.id AS id, m.ratingSum AS ratingSum, m.ratingCount AS ratingCount "
+            + "FROM Movie m WHERE m.id = :id")
+    Optional<RatingSnapshot> findRatingSnapshotById(@Param("id") Long id);
+
+    /**
+     * Projection of the catalog version used as the validator of the movie list
+     */
+    interface CatalogVersion {
+        long getMovieCount();
+
+        Instant getLastModified();
+    }
+
+    /**
+     * Projection of a movie's stored rating aggregates
+     */
+    interface RatingSnapshot {
+        Long getId();
+
+        Long getRatingSum();
+
+        Integer getRatingCount();
+    }
 }
@@ -1,56 +1,112 @@
 package com.moviereview.repository;
 
-import com.moviereview.model.Movie;
+import com.moviereview.dto.ReviewDTO;
 import com.moviereview.model.Review;
-import com.moviereview.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Review entity operations.
  * 
  * Extends JpaRepository to provide standard CRUD operations.
- * Includes custom queries with JOIN FETCH to prevent LazyInitializationException
+ * List queries select straight into ReviewDTOs (see DTO_SELECT), reading only
+ * the movie title and username instead of whole Movie and User rows.
+ * Single-review lookups use JOIN FETCH to prevent LazyInitializationException
  * when accessing related Movie and User entities outside of transaction scope.
  */
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    /**
+     * Select clause building ReviewDTOs from the review plus the movie title and username.
+     * Leaves out the movie description and the user's password hash and email, and
+     * puts no entities into the persistence context.
+     */
+    String DTO_SELECT = "SELECT new com.moviereview.dto.ReviewDTO(r.id, m.id, m.title, u.id, u.username, "
+            + "r.rating, r.comment, r.reviewDate) FROM Review r JOIN r.movie m JOIN r.user u ";
     
     /**
-     * Finds all reviews for a specific movie with eager loading.
-     * Uses JOIN FETCH to load associated movie and user data in a single query,
-     * preventing N+1 query problems and LazyInitializationException.
+     * Finds all reviews for a specific movie as DTOs.
+     * Returns an empty list when the movie does not exist.
+     * 
+     * @param movieId The ID of the movie to find reviews for
+     * @return List of review DTOs with movie title and username
+     */
+    @Query(DTO_SELECT + "WHERE m.id = :movieId")
+    List<ReviewDTO> findAllByMovieIdAsDto(@Param("movieId") Long movieId);
+
+    /**
+     * Finds the first page of a movie's reviews, newest first.
+     * Pass an unsorted Pageable for page 0; the Slice reports whether more rows exist
+     * without running a count query.
+     * 
+     * @param movieId The ID of the movie
+     * @param pageable Page size (page number must be 0)
+     * @return Slice of review DTOs
+     */
+    @Query(DTO_SELECT + "WHERE m.id = :movieId ORDER BY r.reviewDate DESC, r.id DESC")
+    Slice<ReviewDTO> findFirstPageByMovieIdAsDto(@Param("movieId") Long movieId, Pageable pageable);
+
+    /**
+     * Finds the page of a movie's reviews that follows the given keyset cursor, newest first.
+     * Seeks directly to (reviewDate, id) using idx_reviews_movie_date_id, so the cost
+     * per page stays constant no matter how deep the client has scrolled (unlike OFFSET).
+     * 
+     * Legacy rows may have no review date. MySQL and H2 sort NULL lowest, so they
+     * form the tail of the DESC ordering. They are deliberately not matched here:
+     * an IS NULL branch would turn the seek into a scan of the movie's rows. Once
+     * this query runs short, continue with findPageByMovieIdAfterUndatedAsDto.
      * 
-     * @param movie The movie entity to find reviews for
-     * @return List of reviews with movie and user data eagerly loaded
+     * @param movieId The ID of the movie
+     * @param reviewDate Review date of the last review on the previous page
+     * @param id ID of the last review on the previous page
+     * @param pageable Page size (page number must be 0)
+     * @return Slice of review DTOs
      */
-    @Query("SELECT r FROM Review r JOIN FETCH r.movie JOIN FETCH r.user WHERE r.movie = :movie")
-    List<Review> findByMovie(@Param("movie") Movie movie);
+    @Query(DTO_SELECT + "WHERE m.id = :movieId "
+            + "AND (r.reviewDate < :reviewDate OR (r.reviewDate = :reviewDate AND r.id < :id)) "
+            + "ORDER BY r.reviewDate DESC, r.id DESC")
+    Slice<ReviewDTO> findPageByMovieIdAfterAsDto(@Param("movieId") Long movieId,
+                                                 @Param("reviewDate") LocalDateTime reviewDate,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
 
     /**
-     * Finds all reviews written by a specific user with eager loading.
-     * Uses JOIN FETCH to load associated movie and user data in a single query,
-     * preventing N+1 query problems and LazyInitializationException.
+     * Finds the page of a movie's reviews after a cursor that points at a review
+     * without a review date, i.e. inside the undated tail of the listing.
+     * Pass Long.MAX_VALUE as the id to start at the top of the tail.
      * 
-     * @param user The user entity to find reviews for
-     * @return List of reviews with movie and user data eagerly loaded
+     * @param movieId The ID of the movie
+     * @param id ID of the last review on the previous page
+     * @param pageable Page size (page number must be 0)
+     * @return Slice of review DTOs
      */
-    @Query("SELECT r FROM Review r JOIN FETCH r.movie JOIN FETCH r.user WHERE r.user = :user")
-    List<Review> findByUser(@Param("user") User user);
+    @Query(DTO_SELECT + "WHERE m.id = :movieId AND r.reviewDate IS NULL AND r.id < :id ORDER BY r.id DESC")
+    Slice<ReviewDTO> findPageByMovieIdAfterUndatedAsDto(@Param("movieId") Long movieId,
+                                                        @Param("id") Long id,
+                                                        Pageable pageable);
 
     /**
-     * Finds a review by movie and user combination.
-     * Used to enforce business rule: each user can only review each movie once.
+     * Finds all reviews written by a specific user as DTOs.
+     * Returns an empty list when the user does not exist.
      * 
-     * @param movie The movie entity
-     * @param user The user entity
-     * @return Optional containing the review if exists, empty otherwise
+     * @param userId The ID of the user to find reviews for
+     * @return List of review DTOs with movie title and username
      */
-    Optional<Review> findByMovieAndUser(Movie movie, User user);
+    @Query(DTO_SELECT + "WHERE u.id = :userId")
+    List<ReviewDTO> findAllByUserIdAsDto(@Param("userId") Long userId);
 
     /**
      * Deletes all reviews for a specific movie by movie ID.
@@ -63,44 +119,63 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     void deleteByMovieId(@Param("movieId") Long movieId);
 
     /**
-     * Finds the most recent reviews ordered by creation date.
-     * Uses JOIN FETCH to load associated movie and user data in a single query.
+     * Finds the most recent reviews ordered by creation date, as DTOs.
      * 
      * @param pageable Pageable object to limit the number of results
-     * @return List of the most recent reviews with movie and user data eagerly loaded
+     * @return List of the most recent review DTOs
      */
-    @Query("SELECT r FROM Review r JOIN FETCH r.movie JOIN FETCH r.user ORDER BY r.reviewDate DESC")
-    List<Review> findTopRecentReviews(Pageable pageable);
+    @Query(DTO_SELECT + "ORDER BY r.reviewDate DESC, r.id DESC")
+    List<ReviewDTO> findTopRecentAsDto(Pageable pageable);
 
     /**
-     * Finds all reviews with eager loading of movie and user data.
-     * Uses JOIN FETCH to load associated movie and user data in a single query,
-     * preventing N+1 query problems and LazyInitializationException.
+     * Finds one page of all reviews as DTOs, newest first.
+     * The Slice reports whether another page exists without running a count query.
      * 
-     * @return List of all reviews with movie and user data eagerly loaded
+     * @param pageable Page number and size
+     * @return Slice of review DTOs
      */
-    @Query("SELECT r FROM Review r JOIN FETCH r.movie JOIN FETCH r.user ORDER BY r.reviewDate DESC")
-    List<Review> findAllReviewsWithMovieAndUser();
+    @Query(DTO_SELECT + "ORDER BY r.reviewDate DESC, r.id DESC")
+    Slice<ReviewDTO> findAllAsDto(Pageable pageable);
 
     /**
-     * Finds all reviews for a specific movie by movie ID.
-     * Used for calculating average ratings - doesn't need JOIN FETCH since we only need ratings.
+     * Streams every review as a ReviewDTO, newest first, for bulk export.
      * 
-     * @param movieId The ID of the movie
-     * @return List of reviews for the movie ordered by review date (newest first)
+     * Selects only the columns the DTO needs, so no entities enter the persistence
+     * context, and uses a JDBC fetch size so rows are pulled from the database in
+     * batches instead of being materialized up front. On MySQL the connection URL
+     * must include useCursorFetch=true for the fetch size to take effect.
+     * Must be consumed inside a transaction and closed after use.
+     * 
+     * @return Stream of review DTOs backed by an open database cursor
      */
-    @Query("SELECT r FROM Review r WHERE r.movie.id = :movieId ORDER BY r.reviewDate DESC")
-    List<Review> findByMovieIdOrderByReviewDateDesc(@Param("movieId") Long movieId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + "ORDER BY r.reviewDate DESC, r.id DESC")
+    Stream<ReviewDTO> streamAllAsDto();
 
     /**
-     * Gets the movie ID for a specific review without loading the Movie entity.
-     * This prevents LazyInitializationException when accessing movie data outside transaction scope.
+     * Counts reviews per movie written since the given time.
+     * Used to rebuild the trending leaderboard.
      * 
-     * @param reviewId The ID of the review
-     * @return The movie ID associated with the review, or null if review not found
+     * @param since Start of the window (inclusive)
+     * @return Movie ID and review count for every movie reviewed in the window
      */
-    @Query("SELECT r.movie.id FROM Review r WHERE r.id = :reviewId")
-    Long getMovieIdByReviewId(@Param("reviewId") Long reviewId);
+    @Query("SELECT r.movie.id AS movieId, COUNT(r) AS reviewCount FROM Review r "
+            + "WHERE r.reviewDate >= :since GROUP BY r.movie.id")
+    List<MovieReviewCount> countReviewsPerMovieSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Finds a review by ID and locks its row until the transaction ends.
+     * Edits and deletions read the old rating from this row to adjust the
+     * movie's stored aggregates by a delta; the lock makes a concurrent edit
+     * of the same review wait and read the rating this one wrote, so no
+     * delta is applied twice.
+     * 
+     * @param reviewId The ID of the review to find
+     * @return Optional of the locked review
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.id = :reviewId")
+    Optional<Review> findByIdForUpdate(@Param("reviewId") Long reviewId);
 
     /**
      * Finds a review by ID with eager loading of movie and user data.
@@ -111,4 +186,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      */
     @Query("SELECT r FROM Review r JOIN FETCH r.movie JOIN FETCH r.user WHERE r.id = :reviewId")
     Optional<Review> findByIdWithMovieAndUser(@Param("reviewId") Long reviewId);
-}
\ No newline at end of file
+
+    /**
+     * Projection of the number of reviews of one movie
+     */
+    interface MovieReviewCount {
+        Long getMovieId();
+
+        Long getReviewCount();
+    }
+}
@@ -0,0 +1,32 @@
+package com.moviereview.repository;
+
+import com.moviereview.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Revocations that still matter, loaded at startup into the in-memory index.
+     */
+    List<RevokedToken> findAllByExpiresAtAfter(Instant now);
+
+    /**
+     * Revocations recorded since the given instant, possibly by another instance.
+     */
+    List<RevokedToken> findAllByRevokedAtAfter(Instant since);
+
+    /**
+     * Delete revocations of tokens that have expired on their own.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
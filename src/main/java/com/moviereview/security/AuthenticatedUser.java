@@ -0,0 +1,44 @@
+package com.moviereview.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal for requests authenticated with a JWT.
+ * 
+ * Built entirely from the verified token claims by JwtAuthenticationFilter,
+ * so authenticating a request needs no lookup in the users table.
+ * Authentication.getName() returns the username; getUserId() gives controllers
+ * the user's ID without a users query (null for tokens that predate the "uid" claim).
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+
+    private final Long userId;
+    private final String username;
+    private final String role;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    /**
+     * Convert the role claim to Spring Security GrantedAuthority
+     */
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,196 @@
+package com.moviereview.security;
+
+import com.moviereview.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder that runs the (deliberately slow) hash and verify calls on
+ * a small dedicated pool with a bounded queue.
+ *
+ * Both UserService and the DaoAuthenticationProvider go through the
+ * PasswordEncoder bean, so every BCrypt round in the application is admitted
+ * here. At most {@code threads} hashes run at once and at most
+ * {@code queueCapacity} wait; anything beyond that, or anything that waits
+ * longer than {@code maxWait}, fails with a {@link ServiceOverloadedException}
+ * instead of tying up another request thread.
+ *
+ * The calling request thread still blocks while its hash is queued and
+ * computed, so a login burst holds up to {@code threads + queueCapacity}
+ * Tomcat threads, each for at most {@code maxWait}; everything beyond that is
+ * rejected at once and the read endpoints keep being served. A hash that has
+ * already started cannot be interrupted, so a queued task whose caller has
+ * given up is skipped when a worker reaches it rather than hashed for nobody.
+ * Caller and worker share one deadline, and a skipped hash fails with the
+ * same overload exception, so a caller never receives an empty result.
+ *
+ * Metrics:
+ * - auth.password.hashing.queue / .active: current queue depth and busy workers
+ * - auth.password.hashing.time{operation}: time spent hashing on the pool
+ * - auth.password.hashing.wait: time spent queued before a worker picked it up
+ * - auth.password.hashing.rejected{reason}: shed requests (queue_full, timeout)
+ * - auth.password.hashing.skipped: queued hashes dropped after their caller timed out
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+    private final Counter skippedHashes;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  Duration maxWait, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.maxWait = maxWait;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.hashing.queue", executor, e -> e.getQueue().size())
+                .description("Password hashing requests waiting for a worker")
+                .register(registry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing workers currently busy")
+                .register(registry);
+        this.encodeTimer = hashTimer(registry, "encode");
+        this.matchesTimer = hashTimer(registry, "matches");
+        this.waitTimer = Timer.builder("auth.password.hashing.wait")
+                .description("Time a password hashing request spent queued")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.queueFullRejections = rejectionCounter(registry, "queue_full");
+        this.timeoutRejections = rejectionCounter(registry, "timeout");
+        this.skippedHashes = Counter.builder("auth.password.hashing.skipped")
+                .description("Queued password hashes skipped because their caller had already timed out")
+                .register(registry);
+
+        log.info("Password hashing pool: {} threads, queue capacity {}, max wait {}ms",
+                threads, queueCapacity, maxWait.toMillis());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only parses the hash prefix, no need to go through the pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Timer hashTimer, Callable<T> hash) {
+        long queuedAt = System.nanoTime();
+        long deadline = queuedAt + maxWait.toNanos();
+        FutureTask<T> future = new FutureTask<>(() -> {
+            long startedAt = System.nanoTime();
+            waitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+            if (startedAt - deadline >= 0) {
+                // The caller has timed out or is about to; never hand it a result
+                skippedHashes.increment();
+                throw overloaded();
+            }
+            return hashTimer.recordCallable(hash);
+        });
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            queueFullRejections.increment();
+            throw overloaded();
+        }
+
+        try {
+            // Wait until the same deadline the worker checks, not a fresh maxWait
+            return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Drop it from the queue if no worker has picked it up yet, freeing its slot
+            future.cancel(true);
+            executor.remove(future);
+            timeoutRejections.increment();
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private static ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException(
+                "Authentication service is busy, please retry shortly", RETRY_AFTER_SECONDS);
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("auth.password.hashing.time")
+                .description("Time spent computing a password hash")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("auth.password.hashing.rejected")
+                .description("Password hashing requests shed because the pool was saturated")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -8,7 +8,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,7 +16,14 @@ import java.io.IOException;
 
 /**
  * JWT Authentication Filter
- * Intercepts requests and validates JWT tokens
+ * Intercepts requests and validates JWT tokens.
+ * 
+ * The principal is built from the verified token claims (user ID, subject and role),
+ * so authenticated requests do not query the users table. Role changes take
+ * effect when the user next obtains a token.
+ * 
+ * Tokens revoked through logout are ignored; TokenRevocationStore answers the
+ * common not-revoked case from a Bloom filter without any lookup.
  */
 @Component
 @RequiredArgsConstructor
@@ -25,7 +31,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -33,30 +39,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        JwtClaims claims = null;
 
-        // Extract JWT token from Authorization header
+        // Extract JWT token from Authorization header. The token is verified
+        // (signature and expiry) exactly once and its claims reused below.
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                claims = jwtUtil.parseToken(jwt);
+                if (tokenRevocationStore.isRevoked(claims.getTokenId())) {
+                    log.debug("Rejected revoked token {} for user {}", claims.getTokenId(), claims.getUsername());
+                    claims = null;
+                }
             } catch (Exception e) {
-                log.error("Error extracting username from JWT: {}", e.getMessage());
+                log.error("Error verifying JWT: {}", e.getMessage());
             }
         }
 
-        // Validate token and set authentication
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                log.debug("User {} authenticated successfully", username);
-            }
+        // Set authentication from the token claims
+        if (claims != null && claims.getUsername() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String role = claims.getRole() != null ? claims.getRole() : "USER";
+            AuthenticatedUser principal = new AuthenticatedUser(claims.getUserId(), claims.getUsername(), role);
+            UsernamePasswordAuthenticationToken authenticationToken =
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            log.debug("User {} authenticated successfully", claims.getUsername());
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,43 @@
+package com.moviereview.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been verified.
+ * 
+ * Returned by JwtUtil.parseToken so callers can read every claim they need
+ * from a single verification instead of re-parsing the token per claim.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtClaims {
+
+    /**
+     * User ID carried in the "uid" claim, null for tokens issued before the claim existed
+     */
+    private final Long userId;
+
+    /**
+     * Username carried in the token subject
+     */
+    private final String username;
+
+    /**
+     * User role carried in the "role" claim ("USER" or "ADMIN")
+     */
+    private final String role;
+
+    /**
+     * When the token expires
+     */
+    private final Date expiration;
+
+    /**
+     * Unique token ID from the "jti" claim, used for revocation; null for tokens
+     * issued before the claim existed
+     */
+    private final String tokenId;
+}
@@ -1,6 +1,8 @@
 package com.moviereview.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,46 +14,81 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * JWT Utility class for token generation, validation, and extraction.
  * 
  * This class handles all JWT-related operations for the movie review application:
- * - Token generation with user claims (username and role)
+ * - Token generation with user claims (user ID, username and role)
  * - Token validation and expiration checking
  * - Claims extraction (username, role, expiration)
  * 
  * Security Features:
  * - Uses HS512 algorithm with HMAC SHA-512
  * - 256-bit secret key for strong security
- * - 24-hour token expiration by default
+ * - Short-lived (15-minute) access tokens by default, renewed through refresh
+ *   tokens (see RefreshTokenService) rather than by logging in again
  * - Role-based claims for authorization
+ * - Unique "jti" per token so individual tokens can be revoked
  */
 @Component
 public class JwtUtil {
 
     /**
-     * Secret key for signing JWT tokens. Should be at least 256 bits for HS256.
-     * Can be overridden in application.properties with jwt.secret property.
+     * Token expiration time in milliseconds.
+     * Default is 900000ms = 15 minutes.
+     * Can be overridden in application.properties with jwt.expiration property.
      */
-    @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm}")
-    private String secret;
+    private final long expiration;
 
     /**
-     * Token expiration time in milliseconds.
-     * Default is 86400000ms = 24 hours.
-     * Can be overridden in application.properties with jwt.expiration property.
+     * Signing key and parser are built once at startup from the configured secret
+     * and reused for every token, instead of being rebuilt per call.
      */
-    @Value("${jwt.expiration:86400000}")
-    private Long expiration;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
 
     /**
-     * Generate secret key from the configured secret string
+     * @param secret Secret key for signing JWT tokens. Should be at least 256 bits for HS256.
+     *               Can be overridden in application.properties with jwt.secret property.
+     * @param expiration Token expiration time in milliseconds (jwt.expiration property)
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtil(
+            @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm}") String secret,
+            @Value("${jwt.expiration:900000}") long expiration) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
+    /**
+     * Access token lifetime in seconds, reported to clients so they know when to refresh
+     */
+    public long getExpirationSeconds() {
+        return expiration / 1000;
+    }
+
+    /**
+     * Verify a token once and return its claims.
+     * The parser checks both the signature and the expiry, so the returned
+     * claims can be used directly for authentication.
+     * 
+     * @param token The compact JWT string
+     * @return The verified claims (user ID, username, role, expiration, token ID)
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public JwtClaims parseToken(String token) {
+        Claims claims = extractAllClaims(token);
+        return new JwtClaims(
+                claims.get("uid", Long.class),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getExpiration(),
+                claims.getId());
     }
 
     /**
@@ -80,48 +117,47 @@ public class JwtUtil {
      * Extract all claims from token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    /**
-     * Check if token is expired
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     /**
-     * Generate token for user
+     * Generate token for user.
+     * The user ID is signed into the "uid" claim so authenticated endpoints can
+     * identify the user without looking them up by username.
      */
-    public String generateToken(String username, String role) {
+    public String generateToken(Long userId, String username, String role) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put("uid", userId);
         claims.put("role", role);
         return createToken(claims, username);
     }
 
     /**
-     * Create JWT token with claims
+     * Create JWT token with claims.
+     * Each token gets a random "jti" so it can be revoked on its own.
      */
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * Validate token
+     * Validate token with a single verification.
+     * Expired or tampered tokens are rejected rather than throwing.
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        try {
+            return parseToken(token).getUsername().equals(userDetails.getUsername());
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
     }
 
     /**
@@ -0,0 +1,63 @@
+package com.moviereview.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the application's password encoder.
+ *
+ * New hashes are written as "{bcrypt}$2a$&lt;strength&gt;$..." at the configured
+ * cost. Hashes without an id prefix (everything stored before the encoder was
+ * made configurable) are still verified as plain BCrypt. upgradeEncoding()
+ * reports true for those and for any BCrypt hash at a different strength,
+ * which is what lets the authentication provider rewrite them on the next
+ * successful login (see UserService.updatePassword). Lowering the strength
+ * therefore makes logins cheaper for existing users too, not only new ones;
+ * the stock BCryptPasswordEncoder would only ever rewrite weaker hashes.
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT_ID = "bcrypt";
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder delegatingBCrypt(int strength) {
+        BCryptPasswordEncoder bcrypt = new ExactStrengthBCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * BCrypt encoder whose upgradeEncoding() flags any hash whose cost differs
+     * from the configured one, in either direction.
+     */
+    private static final class ExactStrengthBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private static final Pattern COST = Pattern.compile("\\A\\$2[abxy]?\\$(\\d\\d)\\$");
+
+        private final int strength;
+
+        ExactStrengthBCryptPasswordEncoder(int strength) {
+            super(strength);
+            this.strength = strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            Matcher matcher = COST.matcher(encodedPassword);
+            // Leave anything that is not a BCrypt hash to the default check
+            return matcher.find() ? Integer.parseInt(matcher.group(1)) != strength
+                    : super.upgradeEncoding(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.moviereview.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviereview.exception.ErrorResponse;
+import com.moviereview.exception.RateLimitExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the RateLimiter rules to the routes they protect.
+ *
+ * Runs inside the security chain after JwtAuthenticationFilter so that
+ * authenticated requests can also be limited per username. It is deliberately
+ * not a @Component: Spring Boot would otherwise also register it as a plain
+ * servlet filter ahead of authentication.
+ *
+ * The client IP is taken from getRemoteAddr(); when running behind a proxy or
+ * load balancer enable server.forward-headers-strategy so that it reflects the
+ * real client rather than trusting a raw X-Forwarded-For header here.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        try {
+            if (PATHS.match("/auth/refresh", path) || PATHS.match("/auth/logout", path)) {
+                rateLimiter.checkLimit(rateLimiter.sessionRule(), RateLimiter.KEY_IP, request.getRemoteAddr());
+            } else if (PATHS.match("/auth/**", path)) {
+                rateLimiter.checkLimit(rateLimiter.authRule(), RateLimiter.KEY_IP, request.getRemoteAddr());
+            } else if (HttpMethod.POST.matches(request.getMethod()) && PATHS.match("/api/reviews/movie/*", path)) {
+                rateLimiter.checkLimitPerIpAndUser(rateLimiter.reviewSubmitRule(), request.getRemoteAddr(), currentUsername());
+            } else if (HttpMethod.GET.matches(request.getMethod()) && PATHS.match("/api/reviews/export", path)) {
+                rateLimiter.checkLimit(rateLimiter.exportRule(), RateLimiter.KEY_USER, currentUsername());
+            }
+        } catch (RateLimitExceededException e) {
+            reject(request, response, e);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RateLimitExceededException e)
+            throws IOException {
+        ErrorResponse body = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                e.getMessage(),
+                request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,279 @@
+package com.moviereview.security;
+
+import com.moviereview.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory per-client rate limiter for the expensive endpoints (login and
+ * registration cost a BCrypt round, submitting a review several writes, an
+ * export holds a database connection for the whole download).
+ *
+ * Each rule allows {@code capacity} requests per {@code period} per key, where a
+ * key is a client IP or a username. Buckets live in a map bounded by
+ * rate-limit.max-keys; buckets that have been full for
+ * rate-limit.idle-timeout-seconds are swept periodically, which forgets nothing
+ * because a full bucket behaves exactly like a new one. When the map reaches its
+ * bound, every bucket that is full right now is dropped (at most once per
+ * second); if that frees no room, only the request with the new key is
+ * rejected. Flooding the limiter with fresh keys therefore cannot exhaust
+ * memory, bypass it, or throttle clients whose buckets are already tracked.
+ *
+ * Rejections are counted in rate.limit.rejected{rule,key}.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    public static final String KEY_IP = "ip";
+    public static final String KEY_USER = "user";
+
+    private static final long FULL_SWEEP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** Retry-After for a new key rejected because the map is at its bound. */
+    private static final long NEW_KEY_RETRY_NANOS = FULL_SWEEP_NANOS;
+
+    private final boolean enabled;
+    private final int maxKeys;
+    private final long idleTimeoutNanos;
+    private final Rule authRule;
+    private final Rule sessionRule;
+    private final Rule loginRule;
+    private final Rule reviewSubmitRule;
+    private final Rule exportRule;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextFullSweepAt = new AtomicLong(System.nanoTime());
+    private final Map<String, Counter> rejectionCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${rate-limit.idle-timeout-seconds:600}") long idleTimeoutSeconds,
+            @Value("${rate-limit.auth.capacity:20}") int authCapacity,
+            @Value("${rate-limit.auth.period-seconds:60}") long authPeriodSeconds,
+            @Value("${rate-limit.session.capacity:120}") int sessionCapacity,
+            @Value("${rate-limit.session.period-seconds:60}") long sessionPeriodSeconds,
+            @Value("${rate-limit.login.capacity:5}") int loginCapacity,
+            @Value("${rate-limit.login.period-seconds:60}") long loginPeriodSeconds,
+            @Value("${rate-limit.review-submit.capacity:10}") int reviewCapacity,
+            @Value("${rate-limit.review-submit.period-seconds:60}") long reviewPeriodSeconds,
+            @Value("${rate-limit.export.capacity:2}") int exportCapacity,
+            @Value("${rate-limit.export.period-seconds:300}") long exportPeriodSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+        this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+        this.authRule = new Rule("auth", authCapacity, Duration.ofSeconds(authPeriodSeconds));
+        this.sessionRule = new Rule("session", sessionCapacity, Duration.ofSeconds(sessionPeriodSeconds));
+        this.loginRule = new Rule("login", loginCapacity, Duration.ofSeconds(loginPeriodSeconds));
+        this.reviewSubmitRule = new Rule("review-submit", reviewCapacity, Duration.ofSeconds(reviewPeriodSeconds));
+        this.exportRule = new Rule("export", exportCapacity, Duration.ofSeconds(exportPeriodSeconds));
+
+        Gauge.builder("rate.limit.keys", buckets, Map::size)
+                .description("Client keys currently tracked by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    /** /auth/** requests other than refresh and logout, per client IP. */
+    public Rule authRule() {
+        return authRule;
+    }
+
+    /**
+     * POST /auth/refresh and /auth/logout, per client IP. Kept apart from the
+     * auth rule: with short-lived access tokens every active user refreshes
+     * regularly, and many users can share one NAT address. Neither call hashes
+     * a password.
+     */
+    public Rule sessionRule() {
+        return sessionRule;
+    }
+
+    /**
+     * Failed login attempts per target username and client IP. Keying on both
+     * keeps a third party from locking a user out by failing logins with their
+     * username; guesses spread across many IPs are still capped per IP by the
+     * auth rule.
+     */
+    public Rule loginRule() {
+        return loginRule;
+    }
+
+    /** POST /api/reviews/movie/{id}, per client IP and per user. */
+    public Rule reviewSubmitRule() {
+        return reviewSubmitRule;
+    }
+
+    /** GET /api/reviews/export, per user. */
+    public Rule exportRule() {
+        return exportRule;
+    }
+
+    /**
+     * Take a token for {@code key} under {@code rule}.
+     *
+     * @throws RateLimitExceededException if the key has no tokens left
+     */
+    public void checkLimit(Rule rule, String keyType, String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = bucketFor(rule, keyType + ":" + key, now);
+        reject(rule, keyType, bucket == null ? NEW_KEY_RETRY_NANOS : bucket.tryConsume(now));
+    }
+
+    /**
+     * Take a token under {@code rule} for both the client IP and the user, or
+     * for neither: a request rejected for one key does not use up the other
+     * key's budget. A null key is not limited.
+     *
+     * @throws RateLimitExceededException if either key has no tokens left
+     */
+    public void checkLimitPerIpAndUser(Rule rule, String ip, String username) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        TokenBucket ipBucket = ip == null ? null : bucketFor(rule, KEY_IP + ":" + ip, now);
+        TokenBucket userBucket = username == null ? null : bucketFor(rule, KEY_USER + ":" + username, now);
+        if (ip != null) {
+            reject(rule, KEY_IP, ipBucket == null ? NEW_KEY_RETRY_NANOS : ipBucket.waitNanos(now));
+        }
+        if (username != null) {
+            reject(rule, KEY_USER, userBucket == null ? NEW_KEY_RETRY_NANOS : userBucket.waitNanos(now));
+        }
+        // Both keys had a token; a concurrent request may take one first, which
+        // lets this request through at most one token over the limit
+        if (ipBucket != null) {
+            ipBucket.tryConsume(now);
+        }
+        if (userBucket != null) {
+            userBucket.tryConsume(now);
+        }
+    }
+
+    /**
+     * Check that {@code key} has a token left under {@code rule}, without taking
+     * it. Use with {@link #charge} to count only some outcomes, such as failed
+     * logins.
+     *
+     * @throws RateLimitExceededException if the key has no tokens left
+     */
+    public void checkAvailable(Rule rule, String keyType, String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(bucketKey(rule, keyType + ":" + key));
+        reject(rule, keyType, bucket == null ? 0 : bucket.waitNanos(now));
+    }
+
+    /**
+     * Take a token for {@code key} under {@code rule} if one is left, without
+     * rejecting the current request.
+     */
+    public void charge(Rule rule, String keyType, String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = bucketFor(rule, keyType + ":" + key, now);
+        if (bucket != null) {
+            bucket.tryConsume(now);
+        }
+    }
+
+    private void reject(Rule rule, String keyType, long waitNanos) {
+        if (waitNanos > 0) {
+            rejectionCounter(rule, keyType).increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+            throw new RateLimitExceededException("Too many requests, please retry later", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Drop buckets that have been full for longer than the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleTimeoutNanos));
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("Rate limiter evicted {} idle keys, {} remain", evicted, buckets.size());
+        }
+    }
+
+    int trackedKeys() {
+        return buckets.size();
+    }
+
+    /**
+     * @return The key's bucket, or null if it is new and the map has no room
+     */
+    private TokenBucket bucketFor(Rule rule, String key, long now) {
+        String bucketKey = bucketKey(rule, key);
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            evictFullBuckets(now);
+            if (buckets.size() >= maxKeys) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(bucketKey, k -> rule.newBucket(now));
+    }
+
+    private static String bucketKey(Rule rule, String key) {
+        return rule.name() + "|" + key;
+    }
+
+    /**
+     * Drop every bucket that is full right now. Unlike the idle sweep this runs
+     * on demand when the map is at its bound, at most once per FULL_SWEEP_NANOS
+     * so that a flood of new keys does not turn into a scan per request.
+     */
+    private void evictFullBuckets(long now) {
+        long due = nextFullSweepAt.get();
+        if (now - due < 0 || !nextFullSweepAt.compareAndSet(due, now + FULL_SWEEP_NANOS)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, 0));
+    }
+
+    private Counter rejectionCounter(Rule rule, String keyType) {
+        return rejectionCounters.computeIfAbsent(rule.name() + "|" + keyType, k ->
+                Counter.builder("rate.limit.rejected")
+                        .description("Requests rejected by the rate limiter")
+                        .tag("rule", rule.name())
+                        .tag("key", keyType)
+                        .register(meterRegistry));
+    }
+
+    /**
+     * A limit of {@code capacity} requests per {@code period}, refilled evenly.
+     */
+    public record Rule(String name, int capacity, Duration period) {
+
+        TokenBucket newBucket(long now) {
+            return new TokenBucket(capacity, period.toNanos() / capacity, now);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.moviereview.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * Instead of storing a token count and a refill timestamp, the bucket keeps a
+ * single "theoretical arrival time": the instant at which it would be full
+ * again if nothing else were consumed. Taking a token pushes that instant one
+ * refill interval further; a request is admitted as long as doing so keeps it
+ * within {@code capacity} intervals of now. This is the same admission rule as
+ * a classic token bucket but needs only one CAS on one long per request.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(long capacity, long intervalNanos, long now) {
+        this.intervalNanos = intervalNanos;
+        this.burstNanos = capacity * intervalNanos;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Take one token.
+     *
+     * @return 0 if admitted, otherwise the nanoseconds until a token is available
+     */
+    long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Check for a token without taking it.
+     *
+     * @return 0 if a token is available, otherwise the nanoseconds until one is
+     */
+    long waitNanos(long now) {
+        long excess = Math.max(fullAt.get(), now) + intervalNanos - now - burstNanos;
+        return Math.max(0, excess);
+    }
+
+    /**
+     * True once the bucket has been full for at least {@code idleNanos}; such a
+     * bucket can be dropped without changing any future decision.
+     */
+    boolean isIdle(long now, long idleNanos) {
+        return now - fullAt.get() >= idleNanos;
+    }
+}
@@ -0,0 +1,159 @@
+package com.moviereview.security;
+
+import com.moviereview.model.RevokedToken;
+import com.moviereview.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of JWTs revoked before their expiry, by "jti" claim.
+ * 
+ * Revocations are stored in the revoked_tokens table so they survive restarts,
+ * and mirrored in memory for the per-request check. isRevoked() is called by
+ * JwtAuthenticationFilter for every authenticated request, and almost every
+ * token is not revoked, so the mirror is fronted by a Bloom filter: a
+ * not-revoked token is answered after a few bit probes, with no map or DB
+ * lookup. Only Bloom hits (real revocations and rare false positives) fall
+ * through to the exact map.
+ * 
+ * Expired revocations are pruned on a schedule; since a Bloom filter cannot
+ * forget values, pruning rebuilds it from what remains.
+ * 
+ * The in-memory index is per instance. With several instances, each one polls
+ * the table every jwt.revocation.sync-interval-ms (5 seconds by default) for
+ * revocations recorded since its last poll, so a logout takes effect everywhere
+ * within seconds rather than at the next prune.
+ */
+@Component
+@Slf4j
+public class TokenRevocationStore {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * How far each sync looks back before the previous one, to cover clock
+     * differences between instances and revocations committed late
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedRevocations;
+
+    /**
+     * jti -> expiry of every revoked token that has not expired yet
+     */
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile Instant lastSyncAt = Instant.EPOCH;
+
+    public TokenRevocationStore(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.revocation.expected-tokens:10000}") int expectedRevocations) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.bloomFilter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Load unexpired revocations before the application starts serving requests.
+     */
+    @PostConstruct
+    public void load() {
+        reload(Instant.now());
+    }
+
+    /**
+     * Check whether a token has been revoked.
+     * 
+     * @param tokenId The token's "jti" claim
+     * @return true if the token was revoked and has not expired yet
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revoke a token until it expires.
+     * 
+     * @param tokenId The token's "jti" claim
+     * @param username The token subject
+     * @param expiresAt When the token expires
+     */
+    public void revoke(String tokenId, String username, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, username, expiresAt, now));
+        synchronized (this) {
+            revoked.put(tokenId, expiresAt);
+            bloomFilter.add(tokenId);
+        }
+        log.info("Revoked token {} for user {}", tokenId, username);
+    }
+
+    /**
+     * Delete revocations of tokens that have expired anyway and rebuild the
+     * in-memory index from the database, which also picks up revocations made
+     * by other instances.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:600000}",
+            initialDelayString = "${jwt.revocation.prune-interval-ms:600000}")
+    public void pruneExpired() {
+        Instant now = Instant.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        reload(now);
+        if (deleted > 0) {
+            log.info("Pruned {} expired token revocations, {} remain", deleted, revoked.size());
+        }
+    }
+
+    /**
+     * Pick up revocations recorded by other instances since the last sync.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}",
+            initialDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public void syncRecent() {
+        Instant now = Instant.now();
+        List<RevokedToken> recent = revokedTokenRepository.findAllByRevokedAtAfter(lastSyncAt.minus(SYNC_OVERLAP));
+        synchronized (this) {
+            recent.stream()
+                    .filter(token -> token.getExpiresAt().isAfter(now))
+                    .forEach(token -> {
+                        revoked.put(token.getTokenId(), token.getExpiresAt());
+                        bloomFilter.add(token.getTokenId());
+                    });
+        }
+        lastSyncAt = now;
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private void reload(Instant now) {
+        List<RevokedToken> active = revokedTokenRepository.findAllByExpiresAtAfter(now);
+        // Revocations are rare, so writers share one lock; readers never take it
+        synchronized (this) {
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            active.forEach(token -> revoked.put(token.getTokenId(), token.getExpiresAt()));
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2),
+                    FALSE_POSITIVE_RATE);
+            revoked.keySet().forEach(rebuilt::add);
+            bloomFilter = rebuilt;
+        }
+        lastSyncAt = now;
+    }
+}
@@ -1,49 +1,159 @@
 package com.moviereview.service;
 
 import com.moviereview.exception.ResourceNotFoundException;
+import com.moviereview.config.CacheConfig;
+import com.moviereview.dto.MovieDTO;
+import com.moviereview.dto.MovieSummaryDTO;
+import com.moviereview.index.MovieLeaderboard;
+import com.moviereview.index.MovieSearchIndex;
+import com.moviereview.index.RecentReviewBuffer;
+import com.moviereview.index.TitleSuggestIndex;
 import com.moviereview.model.Movie;
 import com.moviereview.repository.MovieRepository;
 import com.moviereview.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class MovieService {
 
+    /**
+     * Maximum number of results returned by a movie search
+     */
+    private static final int SEARCH_RESULT_LIMIT = 100;
+
     private final MovieRepository movieRepository;
     private final ReviewRepository reviewRepository; // To calculate average rating
+    private final MovieSearchIndex searchIndex;
+    private final TitleSuggestIndex suggestIndex;
+    private final MovieLeaderboard leaderboard;
+    private final RecentReviewBuffer recentReviews;
+
+    /**
+     * Number of movies recalculated per transaction by recalculateAllMovieRatings
+     */
+    @Value("${movies.rating-recalculation.chunk-size:1000}")
+    private int recalculationChunkSize;
 
-    public List<Movie> getAllMovies() {
-        return movieRepository.findAll();
+    public List<MovieDTO> getAllMovies() {
+        return movieRepository.findAllAsDto();
     }
 
     public Optional<Movie> getMovieById(Long id) {
         return movieRepository.findById(id);
     }
 
-    public List<Movie> searchMovies(String searchTerm) {
-        return movieRepository.searchMovies(searchTerm);
+    /**
+     * Version of the movie list, for answering conditional GETs of /api/movies
+     * without loading the list.
+     * 
+     * @return Number of movies and time of the latest change to any of them
+     */
+    public MovieRepository.CatalogVersion getCatalogVersion() {
+        return movieRepository.findCatalogVersion();
     }
 
-    public double getAverageRatingForMovie(Long movieId) {
-        Optional<Movie> movieOptional = movieRepository.findById(movieId);
-        if (movieOptional.isPresent()) {
-            Movie movie = movieOptional.get();
-            return reviewRepository.findByMovie(movie).stream()
-                    .mapToInt(review -> review.getRating())
-                    .average()
-                    .orElse(0.0);
+    /**
+     * Movie details as returned by the API, read through the movie details cache.
+     * Entries are evicted whenever the movie or its rating changes, so repeated
+     * reads are served from memory without a database query. A read racing a
+     * rating change can re-cache the old details until the entry expires (see CacheConfig).
+     * 
+     * @param id The ID of the movie
+     * @return The movie details, or empty if the movie does not exist
+     */
+    @Cacheable(cacheNames = CacheConfig.MOVIE_DETAILS, key = "#id", unless = "#result == null")
+    public Optional<MovieDTO> getMovieDetails(Long id) {
+        return movieRepository.findById(id).map(MovieDTO::fromEntity);
+    }
+
+    /**
+     * Searches movies by title, director, genre and description.
+     * Matching and ranking run against the in-memory MovieSearchIndex; the
+     * database is only hit to load the matched movies by primary key.
+     * 
+     * @param searchTerm Free-text search query
+     * @return Matching movies, best match first
+     */
+    public List<MovieDTO> searchMovies(String searchTerm) {
+        List<Long> rankedIds = searchIndex.search(searchTerm, SEARCH_RESULT_LIMIT);
+        if (rankedIds.isEmpty()) {
+            return List.of();
         }
-        return 0.0;
+
+        Map<Long, MovieDTO> moviesById = movieRepository.findAllAsDtoByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(MovieDTO::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(moviesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Type-ahead suggestions for movie titles, served entirely from memory.
+     * 
+     * @param query Text typed so far; matched against the start of any title word
+     * @param limit Maximum number of suggestions
+     * @return Matching movies, highest rated first
+     */
+    public List<MovieSummaryDTO> suggestMovies(String query, int limit) {
+        return suggestIndex.suggest(query, limit);
+    }
+
+    /**
+     * Highest rated movies with at least movies.leaderboard.min-reviews reviews.
+     * Served from the in-memory leaderboard.
+     * 
+     * @param limit Maximum number of movies
+     * @return Movies ordered by average rating, then review count
+     */
+    public List<MovieSummaryDTO> getTopRatedMovies(int limit) {
+        return toSummaries(leaderboard.topRated(limit));
+    }
+
+    /**
+     * Movies with the most reviews written in the last 7 days.
+     * Served from the in-memory leaderboard.
+     * 
+     * @param limit Maximum number of movies
+     * @return Movies ordered by number of reviews this week
+     */
+    public List<MovieSummaryDTO> getTrendingMovies(int limit) {
+        return toSummaries(leaderboard.trending(limit));
     }
 
     // Admin-like functionality to add/update movies
+    @CacheEvict(cacheNames = CacheConfig.MOVIE_DETAILS, key = "#movie.id", condition = "#movie.id != null")
     public Movie saveMovie(Movie movie) {
-        return movieRepository.save(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        searchIndex.index(savedMovie);
+        suggestIndex.index(savedMovie);
+        // Buffered recent reviews carry the movie title; refresh it once the save is committed
+        Long movieId = savedMovie.getId();
+        String title = savedMovie.getTitle();
+        TransactionCallbacks.afterCommit(() -> recentReviews.renameMovie(movieId, title));
+        return savedMovie;
     }
 
         /**
@@ -56,6 +166,7 @@ public class MovieService {
      * @throws ResourceNotFoundException if movie with given ID is not found
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MOVIE_DETAILS, key = "#id")
     public void deleteMovie(Long id) {
         // First, verify the movie exists
         movieRepository.findById(id)
@@ -67,51 +178,180 @@ public class MovieService {
         
         // Now delete the movie
         movieRepository.deleteById(id);
+        
+        // Drop it from the in-memory indexes once the deletion is committed
+        TransactionCallbacks.afterCommit(() -> {
+            searchIndex.remove(id);
+            suggestIndex.remove(id);
+            leaderboard.remove(id);
+            recentReviews.removeMovie(id);
+        });
+    }
+
+    /**
+     * Applies a single review write to the movie's stored rating aggregates
+     * and its per-star rating counters.
+     * 
+     * Uses delta arithmetic in one UPDATE statement, so the cost does not depend
+     * on how many reviews the movie already has:
+     * - new review: addedRating = rating, removedRating = 0
+     * - edited review: addedRating = new rating, removedRating = old rating
+     * - deleted review: addedRating = 0, removedRating = rating
+     * 
+     * @param movieId The ID of the movie the review belongs to
+     * @param addedRating Rating being added (1-5), or 0 if none
+     * @param removedRating Rating being removed (1-5), or 0 if none
+     * @return true if the movie exists and was updated, false otherwise
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MOVIE_DETAILS, key = "#movieId")
+    public boolean recordRatingChange(Long movieId, int addedRating, int removedRating) {
+        long sumDelta = (long) addedRating - removedRating;
+        int countDelta = (addedRating > 0 ? 1 : 0) - (removedRating > 0 ? 1 : 0);
+        if (movieRepository.applyRatingDelta(movieId, sumDelta, countDelta, addedRating, removedRating, Instant.now()) == 0) {
+            return false;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            updateLeaderboard(suggestIndex.applyRatingDelta(movieId, sumDelta, countDelta));
+            if (countDelta > 0) {
+                leaderboard.recordNewReview(movieId);
+            }
+        });
+        return true;
     }
 
     /**
-     * Updates the average rating for a movie based on all its reviews.
-     * Calculates the average from all reviews and updates the movie entity.
+     * Rebuilds the stored rating aggregates for a movie from its reviews,
+     * including the per-star counters, with one set-based UPDATE.
+     * Only needed for repairs and migrations - regular review writes go
+     * through {@link #recordRatingChange(Long, int, int)}.
      * 
      * @param movieId The ID of the movie to update the rating for
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MOVIE_DETAILS, key = "#movieId")
     public void updateMovieAverageRating(Long movieId) {
-        Movie movie = movieRepository.findById(movieId)
-            .orElseThrow(() -> new ResourceNotFoundException("Movie not found with id: " + movieId));
-        
-        // Use a more efficient query to get ratings directly by movie ID
-        // This avoids potential lazy loading issues with the movie entity
-        List<com.moviereview.model.Review> reviews = reviewRepository.findByMovieIdOrderByReviewDateDesc(movieId);
-        
-        if (reviews.isEmpty()) {
-            // No reviews, set rating to 0
-            movie.setAvgRating(0.0);
-        } else {
-            // Calculate average rating
-            double averageRating = reviews.stream()
-                .mapToInt(com.moviereview.model.Review::getRating)
-                .average()
-                .orElse(0.0);
-            
-            // Round to 2 decimal places
-            movie.setAvgRating(Math.round(averageRating * 100.0) / 100.0);
+        if (movieRepository.recalculateRatingAggregates(movieId, movieId, Instant.now()) == 0) {
+            throw new ResourceNotFoundException("Movie not found with id: " + movieId);
         }
-        
-        movieRepository.save(movie);
+        movieRepository.findRatingSnapshotById(movieId).ifPresent(rating -> {
+            long ratingSum = rating.getRatingSum();
+            int ratingCount = rating.getRatingCount();
+            TransactionCallbacks.afterCommit(() -> updateLeaderboard(suggestIndex.setRatings(movieId, ratingSum, ratingCount)));
+        });
     }
 
     /**
-     * Recalculates and updates average ratings for all movies in the database.
+     * Builds the in-memory search, suggestion and leaderboard indexes from the
+     * catalog once the application has started. Ordered after the rating
+     * backfill so the indexes start with up-to-date ratings.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void buildIndexes() {
+        List<Movie> movies = movieRepository.findAll();
+        searchIndex.rebuild(movies);
+        suggestIndex.rebuild(movies);
+        leaderboard.rebuildTopRated(movies);
+        refreshTrendingMovies();
+    }
+
+    /**
+     * Rebuilds the trending leaderboard from the reviews of the last 7 days.
+     * New reviews are counted as they are written; this periodic rebuild
+     * drops reviews that have aged out of the window or been deleted.
+     */
+    @Scheduled(fixedDelayString = "${movies.trending.refresh-interval-ms:300000}",
+            initialDelayString = "${movies.trending.refresh-interval-ms:300000}")
+    public void refreshTrendingMovies() {
+        leaderboard.beginTrendingRebuild();
+        Map<Long, Long> weeklyCounts = reviewRepository.countReviewsPerMovieSince(LocalDateTime.now().minusDays(7)).stream()
+                .collect(Collectors.toMap(ReviewRepository.MovieReviewCount::getMovieId,
+                        ReviewRepository.MovieReviewCount::getReviewCount));
+        leaderboard.rebuildTrending(weeklyCounts);
+    }
+
+    /**
+     * Backfills rating aggregates for movies reviewed before ratingSum,
+     * ratingCount and the per-star counters were stored. Runs once at startup and is a no-op afterwards,
+     * since every later review write keeps the aggregates in step.
+     * 
+     * Rebuilds the whole ID range of the affected movies with one set-based UPDATE;
+     * recalculating a movie whose aggregates are already right changes nothing, and
+     * a movie deleted in the meantime is simply not matched. The details cache is
+     * still empty at this point and buildIndexes runs afterwards, so nothing else
+     * needs refreshing.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void backfillMissingRatingAggregates() {
+        List<Long> ids = movieRepository.findIdsWithMissingRatingAggregates();
+        if (ids.isEmpty()) {
+            return;
+        }
+        // Runs and commits in its own transaction (see MovieRepository)
+        int updated = movieRepository.recalculateRatingAggregates(
+                Collections.min(ids), Collections.max(ids), Instant.now());
+        log.info("Backfilled rating aggregates: {} movies needed it, {} recalculated", ids.size(), updated);
+    }
+
+    /**
+     * Recalculates the stored rating aggregates of every movie from its reviews.
      * Useful for data migration or fixing rating inconsistencies.
-     * This method should be used carefully as it processes all movies.
+     * 
+     * Works through the catalog in chunks of movie IDs (movies.rating-recalculation.chunk-size):
+     * - each chunk is one set-based UPDATE that aggregates reviews in the database
+     * - each chunk commits on its own, so locks are short and a failure keeps earlier chunks
+     * - only IDs are held in memory, so memory use does not grow with the catalog
+     * Progress and throughput are logged after every chunk.
+     * 
+     * @return Number of movies processed
      */
-    @Transactional
-    public void recalculateAllMovieRatings() {
-        List<Movie> allMovies = movieRepository.findAll();
-        
-        for (Movie movie : allMovies) {
-            updateMovieAverageRating(movie.getId());
+    @CacheEvict(cacheNames = CacheConfig.MOVIE_DETAILS, allEntries = true)
+    public int recalculateAllMovieRatings() {
+        long startedAt = System.nanoTime();
+        int processed = 0;
+        int chunks = 0;
+        Long lastId = 0L;
+
+        List<Long> ids;
+        while (!(ids = movieRepository.findIdsAfter(lastId, PageRequest.of(0, recalculationChunkSize))).isEmpty()) {
+            Long fromId = ids.get(0);
+            Long toId = ids.get(ids.size() - 1);
+
+            // Runs and commits in its own transaction (see MovieRepository)
+            movieRepository.recalculateRatingAggregates(fromId, toId, Instant.now());
+            movieRepository.findRatingSnapshots(fromId, toId)
+                    .forEach(rating -> updateLeaderboard(
+                            suggestIndex.setRatings(rating.getId(), rating.getRatingSum(), rating.getRatingCount())));
+
+            processed += ids.size();
+            chunks++;
+            lastId = toId;
+            log.info("Rating recalculation: {} movies in {} chunks ({} movies/s), last movie id {}",
+                    processed, chunks, moviesPerSecond(processed, startedAt), lastId);
         }
+
+        log.info("Rating recalculation finished: {} movies in {} ms ({} movies/s)",
+                processed, (System.nanoTime() - startedAt) / 1_000_000, moviesPerSecond(processed, startedAt));
+        return processed;
+    }
+
+    private static long moviesPerSecond(int processed, long startedAt) {
+        long elapsedNanos = Math.max(1L, System.nanoTime() - startedAt);
+        return processed * 1_000_000_000L / elapsedNanos;
+    }
+
+    private void updateLeaderboard(MovieSummaryDTO summary) {
+        if (summary != null) {
+            leaderboard.updateRating(summary.getId(), summary.getAverageRating(), summary.getReviewCount());
+        }
+    }
+
+    private List<MovieSummaryDTO> toSummaries(List<Long> movieIds) {
+        return movieIds.stream()
+                .map(suggestIndex::summary)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 }
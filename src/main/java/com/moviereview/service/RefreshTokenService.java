@@ -0,0 +1,152 @@
+package com.moviereview.service;
+
+import com.moviereview.exception.InvalidTokenException;
+import com.moviereview.model.RefreshToken;
+import com.moviereview.model.User;
+import com.moviereview.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Service layer for refresh tokens.
+ * 
+ * Access JWTs are short-lived; clients keep them fresh by exchanging a refresh
+ * token instead of logging in again. A refresh costs one SHA-256 and one
+ * indexed lookup, with no password hashing, so short access tokens do not
+ * multiply BCrypt work on the login path.
+ * 
+ * Refresh tokens are:
+ * - Opaque: 256 random bits, base64url encoded
+ * - Stored hashed: only the SHA-256 hex digest is persisted
+ * - Rotating: every refresh consumes the token and returns a new one
+ * - Reuse-detecting: presenting an already-used token revokes its whole family
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration refreshExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * @param refreshExpiration Refresh token lifetime in milliseconds
+     *                          (jwt.refresh-expiration property, default 14 days)
+     */
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${jwt.refresh-expiration:1209600000}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpiration = Duration.ofMillis(refreshExpiration);
+    }
+
+    /**
+     * Issues a refresh token for a user who has just logged in or registered.
+     * 
+     * @param user The authenticated user
+     * @return The raw token to hand to the client (never stored)
+     */
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one.
+     * 
+     * @param rawToken The token presented by the client
+     * @return The new raw token and the user it belongs to
+     * @throws InvalidTokenException if the token is unknown, expired or already used
+     */
+    // Reuse revokes the family and then rejects the request; that revocation must commit
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+
+        Instant now = Instant.now();
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new InvalidTokenException("Refresh token has expired");
+        }
+
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            // Someone already exchanged this token: either it was stolen or the
+            // legitimate client is replaying it. Either way, end the session.
+            int revoked = refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            log.warn("Refresh token reuse for user {}, revoked {} tokens in family {}",
+                    current.getUser().getUsername(), revoked, current.getFamilyId());
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+
+        User user = current.getUser();
+        return new Rotation(issue(user, current.getFamilyId()), user);
+    }
+
+    /**
+     * Revokes a refresh token and every token rotated from the same login.
+     * Unknown tokens are ignored.
+     * 
+     * @param rawToken The token presented by the client
+     */
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()));
+    }
+
+    /**
+     * Deletes refresh tokens past their expiry. Used tokens are kept until then
+     * so that a replay can still be recognised.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-prune-interval-ms:3600000}")
+    public void pruneExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Pruned {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setUser(user);
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plus(refreshExpiration));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Result of a successful refresh: the replacement token and its owner.
+     */
+    public record Rotation(String refreshToken, User user) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.moviereview.service;
+
+import com.moviereview.dto.ReviewDTO;
+import com.moviereview.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset pagination cursor for review listings.
+ * 
+ * Identifies the last review a client has seen by its (reviewDate, id) pair,
+ * which is the sort key of the listing. Clients treat the encoded form as an
+ * opaque token and pass it back to fetch the next page. Legacy reviews may
+ * have no date; their cursor encodes an empty date part.
+ */
+@Getter
+@AllArgsConstructor
+public class ReviewCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime reviewDate;
+    private final Long id;
+
+    /**
+     * Creates a cursor pointing just after the given review.
+     * 
+     * @param review The last review of the current page
+     * @return Cursor for the following page
+     */
+    public static ReviewCursor after(ReviewDTO review) {
+        return new ReviewCursor(review.getReviewDate(), review.getId());
+    }
+
+    /**
+     * Encodes this cursor as a URL-safe token.
+     * 
+     * @return Opaque cursor token
+     */
+    public String encode() {
+        String raw = (reviewDate != null ? reviewDate.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * 
+     * @param token Opaque cursor token supplied by the client
+     * @return The decoded cursor
+     * @throws ValidationException if the token is malformed
+     */
+    public static ReviewCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String date = raw.substring(0, separator);
+            return new ReviewCursor(
+                    date.isEmpty() ? null : LocalDateTime.parse(date),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor: " + token, e);
+        }
+    }
+}
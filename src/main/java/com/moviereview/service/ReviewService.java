@@ -1,19 +1,33 @@
 package com.moviereview.service;
 
+import com.moviereview.dto.ReviewDTO;
 import com.moviereview.exception.DuplicateResourceException;
 import com.moviereview.exception.ResourceNotFoundException;
 import com.moviereview.exception.ValidationException;
-import com.moviereview.model.Movie;
+import com.moviereview.index.RecentReviewBuffer;
 import com.moviereview.model.Review;
-import com.moviereview.model.User;
 import com.moviereview.repository.MovieRepository;
 import com.moviereview.repository.ReviewRepository;
 import com.moviereview.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing movie reviews.
@@ -35,6 +49,7 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final MovieRepository movieRepository;
     private final UserRepository userRepository;
+    private final RecentReviewBuffer recentReviews;
     
     // Using setter injection to avoid circular dependency
     private MovieService movieService;
@@ -50,10 +65,56 @@ public class ReviewService {
      * @param movieId The ID of the movie to get reviews for
      * @return List of reviews for the movie, empty list if movie doesn't exist
      */
-    public List<Review> getReviewsForMovie(Long movieId) {
-        return movieRepository.findById(movieId)
-                .map(reviewRepository::findByMovie)
-                .orElse(List.of()); // Return empty list if movie not found
+    public List<ReviewDTO> getReviewsForMovie(Long movieId) {
+        return reviewRepository.findAllByMovieIdAsDto(movieId);
+    }
+
+    /**
+     * Time of the last change to a movie's reviews, used to answer conditional GETs.
+     * Every review write updates the movie's rating aggregates, and that UPDATE
+     * also stamps the movie's lastModified.
+     * 
+     * @param movieId The ID of the movie
+     * @return The last modification time, or empty if unknown
+     */
+    public Optional<Instant> getReviewsLastModified(Long movieId) {
+        return movieRepository.findLastModifiedById(movieId);
+    }
+
+    /**
+     * Retrieves one page of a movie's reviews using keyset pagination.
+     * Reviews are ordered newest first by (reviewDate, id).
+     * 
+     * @param movieId The ID of the movie to get reviews for
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Maximum number of reviews to return
+     * @return Slice of reviews; hasNext() tells whether another page exists
+     */
+    public Slice<ReviewDTO> getReviewPageForMovie(Long movieId, ReviewCursor cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        if (cursor == null) {
+            return reviewRepository.findFirstPageByMovieIdAsDto(movieId, pageable);
+        }
+        if (cursor.getReviewDate() == null) {
+            return reviewRepository.findPageByMovieIdAfterUndatedAsDto(movieId, cursor.getId(), pageable);
+        }
+        Slice<ReviewDTO> dated = reviewRepository.findPageByMovieIdAfterAsDto(
+                movieId, cursor.getReviewDate(), cursor.getId(), pageable);
+        if (dated.hasNext()) {
+            return dated;
+        }
+
+        // The dated rows are used up; continue into the undated tail, which sorts last.
+        // Runs once per listing, on its last dated page, so the dated query stays a pure seek.
+        int remaining = size - dated.getNumberOfElements();
+        Slice<ReviewDTO> undated = reviewRepository.findPageByMovieIdAfterUndatedAsDto(
+                movieId, Long.MAX_VALUE, PageRequest.of(0, Math.max(remaining, 1)));
+        if (remaining == 0) {
+            return new SliceImpl<>(dated.getContent(), pageable, undated.hasContent());
+        }
+        List<ReviewDTO> content = new ArrayList<>(dated.getContent());
+        content.addAll(undated.getContent());
+        return new SliceImpl<>(content, pageable, undated.hasNext());
     }
 
     /**
@@ -63,10 +124,8 @@ public class ReviewService {
      * @param userId The ID of the user to get reviews for
      * @return List of reviews by the user, empty list if user doesn't exist
      */
-    public List<Review> getReviewsByUser(Long userId) {
-        return userRepository.findById(userId)
-                .map(reviewRepository::findByUser)
-                .orElse(List.of());
+    public List<ReviewDTO> getReviewsByUser(Long userId) {
+        return reviewRepository.findAllByUserIdAsDto(userId);
     }
 
     /**
@@ -77,37 +136,62 @@ public class ReviewService {
      * - Both movie and user must exist
      * - Rating must be between 1-5 (validated at entity level)
      * 
+     * Runs as one transaction with three statements: the rating UPDATE (which
+     * also proves the movie exists), the review INSERT using reference proxies,
+     * and a single JOIN FETCH read of the result. The one-review-per-user rule
+     * and the existence of the user are enforced by the uk_reviews_movie_user
+     * and foreign key constraints instead of pre-reads, so concurrent duplicate
+     * submissions cannot both succeed; a failed INSERT rolls the UPDATE back.
+     * 
+     * The UPDATE must come first: it takes the exclusive lock on the movie row
+     * up front, so the shared lock InnoDB takes on the same row for the INSERT's
+     * foreign key check is already covered. Inserting first would leave two
+     * concurrent reviews of one movie each holding the shared lock and waiting
+     * to upgrade it, which is a deadlock.
+     * 
      * @param movieId The ID of the movie being reviewed
      * @param userId The ID of the user writing the review
      * @param rating The star rating (1-5)
      * @param comment Optional text comment
-     * @return The saved review entity
+     * @return The saved review entity, with movie and user loaded
      * @throws ResourceNotFoundException if movie or user doesn't exist
      * @throws DuplicateResourceException if user has already reviewed this movie
      */
+    @Transactional
     public Review submitReview(Long movieId, Long userId, Integer rating, String comment) {
-        Movie movie = movieRepository.findById(movieId)
-                .orElseThrow(() -> new ResourceNotFoundException("Movie not found with ID: " + movieId));
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
-
-        // Enforce business rule: one review per user per movie
-        reviewRepository.findByMovieAndUser(movie, user).ifPresent(r -> {
-            throw new DuplicateResourceException("User has already reviewed this movie.");
-        });
+        // Add the new rating to the movie's stored aggregates; 0 rows means no such movie
+        if (!movieService.recordRatingChange(movieId, rating, 0)) {
+            throw new ResourceNotFoundException("Movie not found with ID: " + movieId);
+        }
 
         Review review = new Review();
-        review.setMovie(movie);
-        review.setUser(user);
+        review.setMovie(movieRepository.getReferenceById(movieId));
+        review.setUser(userRepository.getReferenceById(userId));
         review.setRating(rating);
         review.setComment(comment);
-        
-        Review savedReview = reviewRepository.save(review);
-        
-        // Update movie's average rating
-        movieService.updateMovieAverageRating(movieId);
-        
-        return savedReview;
+
+        Review savedReview;
+        try {
+            // Flush now so constraint violations surface here rather than at commit
+            savedReview = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateReview(e)) {
+                throw new DuplicateResourceException("User has already reviewed this movie.");
+            }
+            // The movie was verified above, so the only foreign key left to fail is the user
+            if (isMissingReference(e, "user_id")) {
+                throw new ResourceNotFoundException("User not found with ID: " + userId);
+            }
+            throw e;
+        }
+
+        // Return review with eagerly loaded movie and user data to prevent LazyInitializationException in controller
+        Review result = reviewRepository.findByIdWithMovieAndUser(savedReview.getId())
+                .orElse(savedReview);
+
+        ReviewDTO recent = ReviewDTO.fromEntity(result);
+        TransactionCallbacks.afterCommit(() -> recentReviews.push(recent));
+        return result;
     }
 
     /**
@@ -122,41 +206,33 @@ public class ReviewService {
      * @throws ResourceNotFoundException if review doesn't exist
      * @throws ValidationException if user is not the review owner
      */
+    @Transactional
     public Review updateReview(Long reviewId, Long userId, Integer rating, String comment) {
-        Review existingReview = reviewRepository.findById(reviewId)
+        Review existingReview = reviewRepository.findByIdForUpdate(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with ID: " + reviewId));
 
         if (!existingReview.getUser().getId().equals(userId)) {
             throw new ValidationException("User not authorized to update this review.");
         }
 
+        // Reading the ID of the lazy movie proxy does not load the movie
+        Long movieId = existingReview.getMovie().getId();
+        int previousRating = existingReview.getRating();
         existingReview.setRating(rating);
         existingReview.setComment(comment);
         
         Review updatedReview = reviewRepository.save(existingReview);
         
-        // Update movie's average rating - get movie ID without accessing lazy-loaded Movie object
-        try {
-            if (movieService != null) {
-                Long movieId = reviewRepository.getMovieIdByReviewId(reviewId);
-                if (movieId != null) {
-                    movieService.updateMovieAverageRating(movieId);
-                } else {
-                    System.err.println("Warning: Could not find movie ID for review " + reviewId);
-                }
-            } else {
-                System.err.println("Warning: MovieService is not properly injected");
-            }
-        } catch (Exception e) {
-            // Log the error but don't fail the review update
-            System.err.println("Error updating movie average rating: " + e.getMessage());
-            e.printStackTrace();
-            // Don't throw exception - review update succeeded, rating update failed
-        }
+        // Swap the old rating for the new one in the movie's stored aggregates.
+        // Runs in the same transaction as the review write: the aggregates are
+        // maintained by deltas, so a lost update would never heal on its own.
+        movieService.recordRatingChange(movieId, rating, previousRating);
         
         // Return review with eagerly loaded movie and user data to prevent LazyInitializationException in controller
-        return reviewRepository.findByIdWithMovieAndUser(reviewId)
-                .orElse(updatedReview); // Fallback to regular review if eager loading fails
+        Optional<Review> loadedReview = reviewRepository.findByIdWithMovieAndUser(reviewId);
+        loadedReview.map(ReviewDTO::fromEntity)
+                .ifPresent(recent -> TransactionCallbacks.afterCommit(() -> recentReviews.update(recent)));
+        return loadedReview.orElse(updatedReview); // Fallback to regular review if eager loading fails
     }
 
     /**
@@ -169,8 +245,9 @@ public class ReviewService {
      * @throws ResourceNotFoundException if review doesn't exist
      * @throws ValidationException if user is not the review owner
      */
+    @Transactional
     public void deleteReview(Long reviewId, Long userId) {
-        Review existingReview = reviewRepository.findById(reviewId)
+        Review existingReview = reviewRepository.findByIdForUpdate(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with ID: " + reviewId));
 
         if (!existingReview.getUser().getId().equals(userId)) {
@@ -178,10 +255,12 @@ public class ReviewService {
         }
 
         Long movieId = existingReview.getMovie().getId();
+        int removedRating = existingReview.getRating();
         reviewRepository.delete(existingReview);
         
-        // Update movie's average rating after deletion
-        movieService.updateMovieAverageRating(movieId);
+        // Remove the deleted rating from the movie's stored aggregates
+        movieService.recordRatingChange(movieId, 0, removedRating);
+        TransactionCallbacks.afterCommit(() -> recentReviews.remove(reviewId));
     }
 
     /**
@@ -194,8 +273,9 @@ public class ReviewService {
      * @throws ResourceNotFoundException if review doesn't exist
      * @throws ValidationException if regular user tries to delete someone else's review
      */
+    @Transactional
     public void deleteReview(Long reviewId, Long userId, boolean isAdmin) {
-        Review existingReview = reviewRepository.findById(reviewId)
+        Review existingReview = reviewRepository.findByIdForUpdate(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with ID: " + reviewId));
 
         // ADMIN can delete any review for moderation, regular users can only delete their own
@@ -204,32 +284,84 @@ public class ReviewService {
         }
 
         Long movieId = existingReview.getMovie().getId();
+        int removedRating = existingReview.getRating();
         reviewRepository.delete(existingReview);
         
-        // Update movie's average rating after deletion
-        movieService.updateMovieAverageRating(movieId);
+        // Remove the deleted rating from the movie's stored aggregates
+        movieService.recordRatingChange(movieId, 0, removedRating);
+        TransactionCallbacks.afterCommit(() -> recentReviews.remove(reviewId));
+    }
+
+    /**
+     * Tells whether a constraint violation came from the one-review-per-user
+     * unique constraint. The constraint name appears in the driver message on
+     * both MySQL and H2.
+     */
+    private static boolean isDuplicateReview(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Review.UNIQUE_MOVIE_USER_CONSTRAINT);
+    }
+
+    /**
+     * Tells whether a constraint violation is a foreign key failure on the given
+     * reviews column. Both MySQL ("a foreign key constraint fails (... FOREIGN KEY
+     * (`movie_id`) ...") and H2 ("... FOREIGN KEY(MOVIE_ID) REFERENCES ...") name
+     * the column in the driver message. Any other violation (for example a
+     * comment that is too long) is not a missing reference.
+     */
+    private static boolean isMissingReference(DataIntegrityViolationException e, String column) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message == null) {
+            return false;
+        }
+        String normalized = message.toLowerCase(Locale.ROOT);
+        return normalized.contains("foreign key") && normalized.contains(column);
     }
 
     /**
      * Retrieves the most recent reviews in the system.
      * Returns up to the specified limit of reviews ordered by creation date (newest first).
+     * Served from the in-memory RecentReviewBuffer; the database is only queried
+     * when the buffer cannot answer in full (e.g. limit above its capacity).
      * 
      * @param limit The maximum number of reviews to return (default: 10)
      * @return List of the most recent reviews
      */
-    public List<Review> getRecentReviews(int limit) {
-        return reviewRepository.findTopRecentReviews(
-            org.springframework.data.domain.PageRequest.of(0, limit)
-        );
+    public List<ReviewDTO> getRecentReviews(int limit) {
+        return recentReviews.latest(limit).orElseGet(() -> reviewRepository.findTopRecentAsDto(PageRequest.of(0, limit)));
+    }
+
+    /**
+     * Seeds the recent reviews buffer from the database once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedRecentReviews() {
+        recentReviews.seed(reviewRepository.findTopRecentAsDto(PageRequest.of(0, recentReviews.capacity())));
     }
 
     /**
-     * Retrieves all reviews in the system.
-     * Uses JOIN FETCH to eagerly load movie and user data in a single query.
+     * Retrieves one page of all reviews in the system, newest first.
+     * Selects the page straight into ReviewDTOs with one query and no count query.
      * 
-     * @return List of all reviews with movie and user data eagerly loaded
+     * @param page Zero-based page number
+     * @param size Maximum number of reviews per page
+     * @return Slice of review DTOs with movie title and username
      */
-    public List<Review> getAllReviews() {
-        return reviewRepository.findAllReviewsWithMovieAndUser();
+    public Slice<ReviewDTO> getAllReviews(int page, int size) {
+        return reviewRepository.findAllAsDto(PageRequest.of(page, size));
+    }
+
+    /**
+     * Streams every review in the system to the given consumer, newest first.
+     * Rows are read through a database cursor and handed over one at a time,
+     * so memory use stays flat regardless of how many reviews exist.
+     * 
+     * @param consumer Callback invoked once per review, in order
+     */
+    @Transactional(readOnly = true)
+    public void exportAllReviews(Consumer<ReviewDTO> consumer) {
+        try (Stream<ReviewDTO> reviews = reviewRepository.streamAllAsDto()) {
+            reviews.forEach(consumer);
+        }
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,8 @@ import com.moviereview.model.User;
 import com.moviereview.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import java.util.Optional;
@@ -22,11 +24,12 @@ import java.util.Optional;
  * - All passwords are hashed using BCrypt before storage
  * - Username uniqueness is enforced
  * - Default role assignment for security
+ * - Stored hashes are upgraded to the configured BCrypt cost on login
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class UserService {
+public class UserService implements UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
@@ -106,4 +109,27 @@ public class UserService {
     public boolean validatePassword(User user, String rawPassword) {
         return passwordEncoder.matches(rawPassword, user.getPassword());
     }
-}
\ No newline at end of file
+
+    /**
+     * Stores an upgraded password hash after a successful login.
+     * 
+     * Called by the authentication provider when the stored hash is below the
+     * configured BCrypt strength or predates the {bcrypt} id prefix. The new hash
+     * was computed from the password the user just presented, so nothing else
+     * about the account changes.
+     * 
+     * @param user The authenticated user details
+     * @param newPassword The new encoded password
+     * @return The user details carrying the new hash
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        int updated = userRepository.updatePasswordByUsername(user.getUsername(), newPassword);
+        if (updated > 0) {
+            log.info("Upgraded password hash for user: {}", user.getUsername());
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+}
@@ -2,12 +2,13 @@ package com.moviereview.config;
 
 import com.moviereview.security.CustomUserDetailsService;
 import com.moviereview.security.JwtUtil;
+import com.moviereview.security.PasswordEncoders;
+import com.moviereview.security.TokenRevocationStore;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.mockito.Mockito;
@@ -47,6 +48,15 @@ public class TestSecurityConfig {
         return Mockito.mock(CustomUserDetailsService.class);
     }
 
+    /**
+     * Mock TokenRevocationStore for tests; nothing is revoked unless a test stubs it
+     */
+    @Bean
+    @Primary
+    public TokenRevocationStore tokenRevocationStoreMock() {
+        return Mockito.mock(TokenRevocationStore.class);
+    }
+
     /**
      * Override the production security filter chain with a permissive one for tests
      */
@@ -64,6 +74,6 @@ public class TestSecurityConfig {
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return PasswordEncoders.delegatingBCrypt(10);
     }
 }
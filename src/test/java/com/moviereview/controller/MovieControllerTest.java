@@ -3,8 +3,10 @@ package com.moviereview.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moviereview.config.TestSecurityConfig;
 import com.moviereview.dto.MovieDTO;
+import com.moviereview.dto.MovieSummaryDTO;
 
 import com.moviereview.model.Movie;
+import com.moviereview.repository.MovieRepository;
 import com.moviereview.service.MovieService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,13 +18,15 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -54,6 +58,10 @@ class MovieControllerTest {
         testMovie.setDirector("The Wachowskis");
         testMovie.setGenre("Sci-Fi");
         testMovie.setPosterUrl("https://example.com/matrix-poster.jpg");
+        testMovie.setAvgRating(4.5);
+        testMovie.setRatingCount(2);
+        testMovie.setRating4Count(1);
+        testMovie.setRating5Count(1);
 
         Movie testMovie2 = new Movie();
         testMovie2.setId(2L);
@@ -63,16 +71,17 @@ class MovieControllerTest {
         testMovie2.setDirector("Christopher Nolan");
         testMovie2.setGenre("Sci-Fi");
         testMovie2.setPosterUrl("https://example.com/inception-poster.jpg");
+        testMovie2.setAvgRating(4.5);
 
         testMovies = Arrays.asList(testMovie, testMovie2);
+        when(movieService.getCatalogVersion()).thenReturn(catalogVersion(2, null));
     }
 
     @Test
     @DisplayName("A.1 - Should get all movies for browsing")
     void getAllMovies_ShouldReturnMovieList() throws Exception {
         // Given
-        when(movieService.getAllMovies()).thenReturn(testMovies);
-        when(movieService.getAverageRatingForMovie(anyLong())).thenReturn(4.5);
+        when(movieService.getAllMovies()).thenReturn(testMovies.stream().map(MovieDTO::fromEntity).toList());
 
         // When & Then
         mockMvc.perform(get("/api/movies"))
@@ -85,7 +94,6 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$[1].title").value("Inception"));
 
         verify(movieService).getAllMovies();
-        verify(movieService, times(2)).getAverageRatingForMovie(anyLong());
     }
 
     @Test
@@ -93,9 +101,8 @@ class MovieControllerTest {
     void searchMovies_ShouldReturnFilteredResults() throws Exception {
         // Given
         String searchQuery = "matrix";
-        List<Movie> searchResults = Arrays.asList(testMovie);
+        List<MovieDTO> searchResults = Arrays.asList(MovieDTO.fromEntity(testMovie));
         when(movieService.searchMovies(searchQuery)).thenReturn(searchResults);
-        when(movieService.getAverageRatingForMovie(1L)).thenReturn(4.5);
 
         // When & Then
         mockMvc.perform(get("/api/movies/search")
@@ -108,12 +115,49 @@ class MovieControllerTest {
         verify(movieService).searchMovies(searchQuery);
     }
 
+    @Test
+    @DisplayName("A.1 - Should suggest movies while typing, capping the limit")
+    void suggestMovies_ShouldReturnSuggestions() throws Exception {
+        // Given
+        List<MovieSummaryDTO> suggestions = List.of(new MovieSummaryDTO(1L, "The Matrix", 4.5, 12));
+        when(movieService.suggestMovies("mat", 20)).thenReturn(suggestions);
+
+        // When & Then
+        mockMvc.perform(get("/api/movies/suggest")
+                .param("query", "mat")
+                .param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].title").value("The Matrix"))
+                .andExpect(jsonPath("$[0].reviewCount").value(12));
+
+        verify(movieService).suggestMovies("mat", 20);
+    }
+
+    @Test
+    @DisplayName("A.1 - Should list top rated and trending movies from the leaderboards")
+    void leaderboards_ShouldReturnRankedMovies() throws Exception {
+        // Given
+        when(movieService.getTopRatedMovies(100)).thenReturn(List.of(new MovieSummaryDTO(1L, "The Matrix", 4.5, 12)));
+        when(movieService.getTrendingMovies(20)).thenReturn(List.of(new MovieSummaryDTO(2L, "Inception", 4.0, 3)));
+
+        // When & Then
+        mockMvc.perform(get("/api/movies/top").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("The Matrix"));
+        mockMvc.perform(get("/api/movies/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Inception"));
+
+        verify(movieService).getTopRatedMovies(100);
+        verify(movieService).getTrendingMovies(20);
+    }
+
     @Test
     @DisplayName("A.2 - Should get movie details by ID")
     void getMovieById_ShouldReturnMovieDetails() throws Exception {
         // Given
-        when(movieService.getMovieById(1L)).thenReturn(Optional.of(testMovie));
-        when(movieService.getAverageRatingForMovie(1L)).thenReturn(4.5);
+        when(movieService.getMovieDetails(1L)).thenReturn(Optional.of(MovieDTO.fromEntity(testMovie)));
 
         // When & Then
         mockMvc.perform(get("/api/movies/1"))
@@ -124,23 +168,89 @@ class MovieControllerTest {
                         jsonPath("$.description").value("A computer hacker learns about the true nature of reality."))
                 .andExpect(jsonPath("$.director").value("The Wachowskis"))
                 .andExpect(jsonPath("$.genre").value("Sci-Fi"))
-                .andExpect(jsonPath("$.averageRating").value(4.5));
+                .andExpect(jsonPath("$.averageRating").value(4.5))
+                .andExpect(jsonPath("$.reviewCount").value(2))
+                .andExpect(jsonPath("$.ratingDistribution['5']").value(1))
+                .andExpect(jsonPath("$.ratingDistribution['1']").value(0));
+
+        verify(movieService).getMovieDetails(1L);
+    }
+
+    @Test
+    @DisplayName("A.2 - Should answer 304 when the client's copy of the movie is current")
+    void getMovieById_WhenNotModified_ShouldReturn304() throws Exception {
+        // Given
+        testMovie.setLastModified(Instant.parse("2025-01-01T10:00:00.123456Z"));
+        when(movieService.getMovieDetails(1L)).thenReturn(Optional.of(MovieDTO.fromEntity(testMovie)));
+        String etag = mockMvc.perform(get("/api/movies/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/api/movies/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // A later change produces a new ETag
+        testMovie.setLastModified(Instant.parse("2025-01-01T10:00:00.123457Z"));
+        when(movieService.getMovieDetails(1L)).thenReturn(Optional.of(MovieDTO.fromEntity(testMovie)));
+        mockMvc.perform(get("/api/movies/1").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("A.1 - Should answer 304 for the movie list without loading it")
+    void getAllMovies_WhenNotModified_ShouldNotLoadMovies() throws Exception {
+        // Given
+        when(movieService.getCatalogVersion()).thenReturn(catalogVersion(2, Instant.parse("2025-01-01T10:00:00Z")));
+        String etag = mockMvc.perform(get("/api/movies"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        clearInvocations(movieService);
+
+        // When & Then
+        mockMvc.perform(get("/api/movies").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(movieService, never()).getAllMovies();
+    }
+
+    @Test
+    @DisplayName("A.1 - Should send the full movie list again after a deletion, even to date-only clients")
+    void getAllMovies_AfterDeletion_ShouldIgnoreIfModifiedSince() throws Exception {
+        // Given
+        Instant lastChange = Instant.parse("2025-01-01T10:00:00Z");
+        when(movieService.getCatalogVersion()).thenReturn(catalogVersion(2, lastChange));
+        mockMvc.perform(get("/api/movies"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().doesNotExist("Last-Modified"));
 
-        verify(movieService).getMovieById(1L);
-        verify(movieService).getAverageRatingForMovie(1L);
+        clearInvocations(movieService);
+
+        // When a movie is deleted, the latest change time stays the same
+        when(movieService.getCatalogVersion()).thenReturn(catalogVersion(1, lastChange));
+
+        // Then
+        mockMvc.perform(get("/api/movies")
+                        .header("If-Modified-Since", DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                                lastChange.plusSeconds(60).atZone(ZoneOffset.UTC))))
+                .andExpect(status().isOk());
+        verify(movieService).getAllMovies();
     }
 
     @Test
     @DisplayName("A.2 - Should return 404 when movie not found")
     void getMovieById_WhenNotFound_ShouldReturn404() throws Exception {
         // Given
-        when(movieService.getMovieById(999L)).thenReturn(Optional.empty());
+        when(movieService.getMovieDetails(999L)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(get("/api/movies/999"))
                 .andExpect(status().isNotFound());
 
-        verify(movieService).getMovieById(999L);
+        verify(movieService).getMovieDetails(999L);
     }
 
     @Test
@@ -160,7 +270,6 @@ class MovieControllerTest {
         savedMovie.setDescription("A new movie description");
 
         when(movieService.saveMovie(any(Movie.class))).thenReturn(savedMovie);
-        when(movieService.getAverageRatingForMovie(3L)).thenReturn(0.0);
 
         // When & Then
         mockMvc.perform(post("/api/movies")
@@ -202,7 +311,6 @@ class MovieControllerTest {
 
         when(movieService.getMovieById(movieId)).thenReturn(Optional.of(testMovie));
         when(movieService.saveMovie(any(Movie.class))).thenReturn(testMovie);
-        when(movieService.getAverageRatingForMovie(movieId)).thenReturn(4.5);
 
         // When & Then
         mockMvc.perform(put("/api/movies/" + movieId)
@@ -234,8 +342,7 @@ class MovieControllerTest {
     @DisplayName("Should handle CORS for frontend integration")
     void corsHeaders_ShouldBePresent() throws Exception {
         // Given
-        when(movieService.getAllMovies()).thenReturn(testMovies);
-        when(movieService.getAverageRatingForMovie(anyLong())).thenReturn(4.5);
+        when(movieService.getAllMovies()).thenReturn(testMovies.stream().map(MovieDTO::fromEntity).toList());
 
         // When & Then
         mockMvc.perform(get("/api/movies")
@@ -243,4 +350,18 @@ class MovieControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:3000"));
     }
-}
\ No newline at end of file
+
+    private static MovieRepository.CatalogVersion catalogVersion(long movieCount, Instant lastModified) {
+        return new MovieRepository.CatalogVersion() {
+            @Override
+            public long getMovieCount() {
+                return movieCount;
+            }
+
+            @Override
+            public Instant getLastModified() {
+                return lastModified;
+            }
+        };
+    }
+}
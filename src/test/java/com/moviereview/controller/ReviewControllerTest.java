@@ -8,20 +8,31 @@ import com.moviereview.exception.ValidationException;
 import com.moviereview.model.Movie;
 import com.moviereview.model.Review;
 import com.moviereview.model.User;
+import com.moviereview.security.AuthenticatedUser;
+import com.moviereview.security.JwtUtil;
+import com.moviereview.service.ReviewCursor;
 import com.moviereview.service.ReviewService;
+import com.moviereview.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -39,11 +50,18 @@ class ReviewControllerTest {
         @MockitoBean
         private ReviewService reviewService;
 
+        @MockitoBean
+        private UserService userService;
+
+        @Autowired
+        private JwtUtil jwtUtil;
+
         @Autowired
         private ObjectMapper objectMapper;
 
         private Review testReview;
         private List<Review> testReviews;
+        private List<ReviewDTO> testReviewDtos;
         private Movie testMovie;
         private User testUser;
 
@@ -74,6 +92,7 @@ class ReviewControllerTest {
                 testReview2.setReviewDate(LocalDateTime.now());
 
                 testReviews = Arrays.asList(testReview, testReview2);
+                testReviewDtos = testReviews.stream().map(ReviewDTO::fromEntity).toList();
         }
 
         @Test
@@ -81,7 +100,7 @@ class ReviewControllerTest {
         void getReviewsByMovie_ShouldReturnReviews() throws Exception {
                 // Given
                 Long movieId = 1L;
-                when(reviewService.getReviewsForMovie(movieId)).thenReturn(testReviews);
+                when(reviewService.getReviewsForMovie(movieId)).thenReturn(testReviewDtos);
 
                 // When & Then
                 mockMvc.perform(get("/api/reviews/movie/" + movieId))
@@ -97,12 +116,76 @@ class ReviewControllerTest {
                 verify(reviewService).getReviewsForMovie(movieId);
         }
 
+        @Test
+        @DisplayName("A.2 - Should answer 304 for unchanged movie reviews without querying them")
+        void getReviewsByMovie_WhenNotModified_ShouldNotLoadReviews() throws Exception {
+                // Given
+                Long movieId = 1L;
+                when(reviewService.getReviewsLastModified(movieId))
+                                .thenReturn(Optional.of(Instant.parse("2025-01-01T10:00:00.5Z")));
+                when(reviewService.getReviewsForMovie(movieId)).thenReturn(testReviewDtos);
+                String etag = mockMvc.perform(get("/api/reviews/movie/" + movieId))
+                                .andExpect(status().isOk())
+                                .andExpect(header().exists("Last-Modified"))
+                                .andReturn().getResponse().getHeader("ETag");
+                clearInvocations(reviewService);
+
+                // When & Then
+                mockMvc.perform(get("/api/reviews/movie/" + movieId).header("If-None-Match", etag))
+                                .andExpect(status().isNotModified());
+
+                verify(reviewService, never()).getReviewsForMovie(anyLong());
+        }
+
+        @Test
+        @DisplayName("A.2 - Should page through movie reviews with a cursor")
+        void getReviewPageByMovie_ShouldReturnNextCursor() throws Exception {
+                // Given
+                Long movieId = 1L;
+                when(reviewService.getReviewPageForMovie(eq(movieId), isNull(), eq(2)))
+                                .thenReturn(new SliceImpl<>(testReviewDtos, PageRequest.of(0, 2), true));
+                String expectedCursor = ReviewCursor.after(testReviewDtos.get(1)).encode();
+
+                // When & Then
+                mockMvc.perform(get("/api/reviews/movie/" + movieId + "/page").param("size", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.reviews.size()").value(2))
+                                .andExpect(jsonPath("$.hasMore").value(true))
+                                .andExpect(jsonPath("$.nextCursor").value(expectedCursor));
+
+                verify(reviewService).getReviewPageForMovie(eq(movieId), isNull(), eq(2));
+        }
+
+        @Test
+        @DisplayName("A.2 - Should reject a malformed review cursor")
+        void getReviewPageByMovie_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+                mockMvc.perform(get("/api/reviews/movie/1/page").param("cursor", "not-a-cursor"))
+                                .andExpect(status().isBadRequest());
+
+                verify(reviewService, never()).getReviewPageForMovie(anyLong(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should return a bounded page of all reviews")
+        void getAllReviews_ShouldClampPageSize() throws Exception {
+                // Given
+                when(reviewService.getAllReviews(0, 100))
+                                .thenReturn(new SliceImpl<>(testReviewDtos, PageRequest.of(0, 100), false));
+
+                // When & Then
+                mockMvc.perform(get("/api/reviews/all").param("size", "5000"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.size()").value(2));
+
+                verify(reviewService).getAllReviews(0, 100);
+        }
+
         @Test
         @DisplayName("B.3 - Should get reviews by a specific user")
         void getReviewsByUser_ShouldReturnUserReviews() throws Exception {
                 // Given
                 Long userId = 1L;
-                when(reviewService.getReviewsByUser(userId)).thenReturn(testReviews);
+                when(reviewService.getReviewsByUser(userId)).thenReturn(testReviewDtos);
 
                 // When & Then
                 mockMvc.perform(get("/api/reviews/user/" + userId))
@@ -244,6 +327,33 @@ class ReviewControllerTest {
                 verify(reviewService).deleteReview(reviewId, wrongUserId);
         }
 
+        @Test
+        @DisplayName("B.2 - Should take the reviewer's ID from the token without a users lookup")
+        void submitReview_ShouldUseUserIdFromTokenClaims() throws Exception {
+                // Given
+                Long movieId = 1L;
+                ReviewDTO reviewDto = new ReviewDTO();
+                reviewDto.setRating(5);
+                reviewDto.setComment("Great movie!");
+
+                // The principal the JWT filter builds from verified token claims
+                AuthenticatedUser principal = new AuthenticatedUser(42L, "testuser", "USER");
+                when(reviewService.submitReview(movieId, 42L, 5, "Great movie!")).thenReturn(testReview);
+
+                // When & Then
+                mockMvc.perform(post("/api/reviews/movie/" + movieId)
+                                .sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                                                new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+                                                                principal, null, principal.getAuthorities())))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(reviewDto)))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$.id").value(1));
+
+                verify(reviewService).submitReview(movieId, 42L, 5, "Great movie!");
+                verify(userService, never()).findByUsername(anyString());
+        }
+
         @Test
         @DisplayName("Should prevent duplicate reviews for same movie by same user")
         void submitReview_WhenDuplicateReview_ShouldReturnConflict() throws Exception {
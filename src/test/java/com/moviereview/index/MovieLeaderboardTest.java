@@ -0,0 +1,106 @@
+package com.moviereview.index;
+
+import com.moviereview.model.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Movie Leaderboard Tests")
+class MovieLeaderboardTest {
+
+    private MovieLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new MovieLeaderboard(2);
+        leaderboard.rebuildTopRated(List.of(
+                movie(1L, 4.5, 10),
+                movie(2L, 4.5, 20),
+                movie(3L, 5.0, 1),
+                movie(4L, 3.0, 5)));
+    }
+
+    @Test
+    @DisplayName("Should rank by rating, then review count, leaving out movies with too few reviews")
+    void topRated_ShouldRankEligibleMovies() {
+        assertThat(leaderboard.topRated(10)).containsExactly(2L, 1L, 4L);
+        assertThat(leaderboard.topRated(1)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should move movies as their ratings change")
+    void updateRating_ShouldReorderBoard() {
+        leaderboard.updateRating(3L, 5.0, 2);
+        leaderboard.updateRating(2L, 2.0, 21);
+
+        assertThat(leaderboard.topRated(10)).containsExactly(3L, 1L, 4L, 2L);
+
+        leaderboard.updateRating(4L, 3.0, 1);
+        assertThat(leaderboard.topRated(10)).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should replace the whole top rated board on rebuild")
+    void rebuildTopRated_ShouldReplaceBoard() {
+        List<Long> before = leaderboard.topRated(10);
+
+        leaderboard.rebuildTopRated(List.of(movie(4L, 4.0, 6), movie(5L, 4.8, 3)));
+
+        assertThat(before).containsExactly(2L, 1L, 4L);
+        assertThat(leaderboard.topRated(10)).containsExactly(5L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should rank trending movies by reviews this week and count new reviews")
+    void trending_ShouldCountNewReviews() {
+        leaderboard.rebuildTrending(Map.of(1L, 3L, 2L, 1L));
+        assertThat(leaderboard.trending(10)).containsExactly(1L, 2L);
+
+        leaderboard.recordNewReview(2L);
+        leaderboard.recordNewReview(2L);
+        leaderboard.recordNewReview(2L);
+        leaderboard.recordNewReview(4L);
+
+        assertThat(leaderboard.trending(10)).containsExactly(2L, 1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should keep reviews recorded while the trending board is rebuilt")
+    void rebuildTrending_ShouldReplayReviewsRecordedDuringRebuild() {
+        leaderboard.rebuildTrending(Map.of(1L, 3L));
+
+        leaderboard.beginTrendingRebuild();
+        // Recorded after the weekly counts were queried
+        leaderboard.recordNewReview(2L);
+        leaderboard.recordNewReview(2L);
+        leaderboard.recordNewReview(2L);
+        leaderboard.rebuildTrending(Map.of(1L, 2L));
+
+        assertThat(leaderboard.trending(10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should drop deleted movies from both boards")
+    void remove_ShouldDropMovie() {
+        leaderboard.rebuildTrending(Map.of(2L, 5L, 1L, 1L));
+
+        leaderboard.remove(2L);
+
+        assertThat(leaderboard.topRated(10)).containsExactly(1L, 4L);
+        assertThat(leaderboard.trending(10)).containsExactly(1L);
+    }
+
+    private static Movie movie(Long id, double avgRating, int ratingCount) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle("Movie " + id);
+        movie.setAvgRating(avgRating);
+        movie.setRatingCount(ratingCount);
+        return movie;
+    }
+}
@@ -0,0 +1,72 @@
+package com.moviereview.index;
+
+import com.moviereview.model.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Movie Search Index Tests")
+class MovieSearchIndexTest {
+
+    private MovieSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new MovieSearchIndex();
+        searchIndex.rebuild(List.of(
+                movie(1L, "The Matrix", "The Wachowskis", "Sci-Fi", "A computer hacker learns about the true nature of reality."),
+                movie(2L, "Inception", "Christopher Nolan", "Sci-Fi", "A thief enters dreams, a matrix of memories."),
+                movie(3L, "Amélie", "Jean-Pierre Jeunet", "Comedy", "A shy waitress changes lives in Paris.")));
+    }
+
+    @Test
+    @DisplayName("Should rank title matches above description matches")
+    void search_ShouldRankTitleMatchesFirst() {
+        assertThat(searchIndex.search("matrix", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should match the last term as a prefix while typing")
+    void search_ShouldMatchPrefixOfLastTerm() {
+        assertThat(searchIndex.search("incep", 10)).containsExactly(2L);
+        assertThat(searchIndex.search("nolan sci", 10)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should ignore case and accents")
+    void search_ShouldNormalizeCaseAndAccents() {
+        assertThat(searchIndex.search("AMELIE", 10)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should require every term to match")
+    void search_ShouldRequireAllTerms() {
+        assertThat(searchIndex.search("matrix comedy", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and removals")
+    void indexAndRemove_ShouldKeepIndexCurrent() {
+        searchIndex.index(movie(2L, "Dune", "Denis Villeneuve", "Sci-Fi", null));
+        assertThat(searchIndex.search("inception", 10)).isEmpty();
+        assertThat(searchIndex.search("dune", 10)).containsExactly(2L);
+
+        searchIndex.remove(1L);
+        assertThat(searchIndex.search("matrix", 10)).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+
+    private static Movie movie(Long id, String title, String director, String genre, String description) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setDirector(director);
+        movie.setGenre(genre);
+        movie.setDescription(description);
+        return movie;
+    }
+}
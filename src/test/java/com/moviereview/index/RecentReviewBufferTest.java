@@ -0,0 +1,103 @@
+package com.moviereview.index;
+
+import com.moviereview.dto.ReviewDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Recent Review Buffer Tests")
+class RecentReviewBufferTest {
+
+    private RecentReviewBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new RecentReviewBuffer(3);
+    }
+
+    @Test
+    @DisplayName("Should return the newest reviews first and overwrite the oldest")
+    void push_ShouldKeepNewestReviews() {
+        buffer.seed(List.of(review(2L, 3), review(1L, 4)));
+        buffer.push(review(3L, 5));
+        buffer.push(review(4L, 1));
+
+        assertThat(ids(buffer.latest(3))).containsExactly(4L, 3L, 2L);
+        assertThat(ids(buffer.latest(2))).containsExactly(4L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should answer from a small seed when it holds every review")
+    void latest_WhenSeededWithAllReviews_ShouldReturnFewerThanLimit() {
+        buffer.seed(List.of(review(1L, 4)));
+
+        assertThat(ids(buffer.latest(3))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should patch edited reviews in place")
+    void update_ShouldReplaceBufferedReview() {
+        buffer.seed(List.of(review(2L, 3), review(1L, 4)));
+        buffer.update(review(1L, 1));
+
+        assertThat(buffer.latest(2)).hasValueSatisfying(reviews ->
+                assertThat(reviews).extracting(ReviewDTO::getRating).containsExactly(3, 1));
+    }
+
+    @Test
+    @DisplayName("Should fall back when deletions leave it short of the limit")
+    void latest_WhenReviewsDeleted_ShouldRequestFallback() {
+        buffer.seed(List.of(review(3L, 3), review(2L, 4), review(1L, 5)));
+        buffer.remove(2L);
+
+        assertThat(ids(buffer.latest(2))).containsExactly(3L, 1L);
+        assertThat(buffer.latest(3)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop every buffered review of a deleted movie")
+    void removeMovie_ShouldEmptyItsSlots() {
+        buffer.seed(List.of(review(3L, 2L, "Heat"), review(2L, 1L, "Alien"), review(1L, 2L, "Heat")));
+        buffer.removeMovie(2L);
+
+        assertThat(ids(buffer.latest(1))).containsExactly(2L);
+        assertThat(buffer.latest(2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should show the new title on buffered reviews of a renamed movie")
+    void renameMovie_ShouldPatchTitles() {
+        buffer.seed(List.of(review(3L, 2L, "Heat"), review(2L, 1L, "Alien"), review(1L, 2L, "Heat")));
+        buffer.renameMovie(2L, "Heat (1995)");
+
+        assertThat(buffer.latest(3)).hasValueSatisfying(reviews ->
+                assertThat(reviews).extracting(ReviewDTO::getMovieTitle)
+                        .containsExactly("Heat (1995)", "Alien", "Heat (1995)"));
+    }
+
+    @Test
+    @DisplayName("Should fall back when the limit exceeds its capacity")
+    void latest_WhenLimitAboveCapacity_ShouldRequestFallback() {
+        buffer.seed(List.of(review(1L, 4)));
+
+        assertThat(buffer.latest(4)).isEmpty();
+    }
+
+    private static ReviewDTO review(Long id, int rating) {
+        return ReviewDTO.builder().id(id).movieId(1L).rating(rating).build();
+    }
+
+    private static ReviewDTO review(Long id, Long movieId, String movieTitle) {
+        return ReviewDTO.builder().id(id).movieId(movieId).movieTitle(movieTitle).rating(4).build();
+    }
+
+    private static List<Long> ids(Optional<List<ReviewDTO>> reviews) {
+        assertThat(reviews).isPresent();
+        return reviews.get().stream().map(ReviewDTO::getId).toList();
+    }
+}
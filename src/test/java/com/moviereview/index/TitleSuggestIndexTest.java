@@ -0,0 +1,99 @@
+package com.moviereview.index;
+
+import com.moviereview.dto.MovieSummaryDTO;
+import com.moviereview.model.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Title Suggest Index Tests")
+class TitleSuggestIndexTest {
+
+    private TitleSuggestIndex suggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        suggestIndex = new TitleSuggestIndex();
+        suggestIndex.rebuild(List.of(
+                movie(1L, "The Dark Knight", 45L, 10),
+                movie(2L, "Dark City", 40L, 10),
+                movie(3L, "Darkest Hour", 0L, 0),
+                movie(4L, "Amélie", 5L, 1)));
+    }
+
+    @Test
+    @DisplayName("Should match the start of any title word, highest rated first")
+    void suggest_ShouldMatchWordPrefixesByRating() {
+        assertThat(ids(suggestIndex.suggest("dar", 10))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(suggestIndex.suggest("dark kn", 10))).containsExactly(1L);
+        assertThat(ids(suggestIndex.suggest("ark", 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore case and accents and respect the limit")
+    void suggest_ShouldNormalizeAndLimit() {
+        assertThat(ids(suggestIndex.suggest("AME", 10))).containsExactly(4L);
+        assertThat(ids(suggestIndex.suggest("dark", 1))).containsExactly(1L);
+        assertThat(ids(suggestIndex.suggest("dar", 2))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should keep ratings current after rating changes")
+    void applyRatingDelta_ShouldReorderSuggestions() {
+        suggestIndex.applyRatingDelta(3L, 5L, 1);
+
+        List<MovieSummaryDTO> suggestions = suggestIndex.suggest("dark", 10);
+        assertThat(ids(suggestions)).containsExactly(3L, 1L, 2L);
+        assertThat(suggestions.get(0).getAverageRating()).isEqualTo(5.0);
+        assertThat(suggestions.get(0).getReviewCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reflect renamed and removed movies")
+    void indexAndRemove_ShouldKeepIndexCurrent() {
+        suggestIndex.index(movie(2L, "Metropolis", 0L, 0));
+        assertThat(ids(suggestIndex.suggest("dark c", 10))).isEmpty();
+        // Ratings already held for the movie survive the rename
+        assertThat(suggestIndex.suggest("metro", 10).get(0).getAverageRating()).isEqualTo(4.0);
+
+        suggestIndex.remove(1L);
+        assertThat(ids(suggestIndex.suggest("dark", 10))).containsExactly(3L);
+        assertThat(suggestIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not lose rating changes applied while a movie is re-indexed")
+    void index_ConcurrentWithRatingDeltas_ShouldKeepEveryDelta() throws Exception {
+        Movie saved = movie(1L, "The Dark Knight", 45L, 10);
+        CompletableFuture<Void> reindexing = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 50_000; i++) {
+                suggestIndex.index(saved);
+            }
+        });
+        for (int i = 0; i < 50_000; i++) {
+            suggestIndex.applyRatingDelta(1L, 5L, 1);
+        }
+        reindexing.get(10, TimeUnit.SECONDS);
+
+        assertThat(suggestIndex.summary(1L).getReviewCount()).isEqualTo(50_010);
+    }
+
+    private static List<Long> ids(List<MovieSummaryDTO> suggestions) {
+        return suggestions.stream().map(MovieSummaryDTO::getId).toList();
+    }
+
+    private static Movie movie(Long id, String title, long ratingSum, int ratingCount) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setRatingSum(ratingSum);
+        movie.setRatingCount(ratingCount);
+        return movie;
+    }
+}
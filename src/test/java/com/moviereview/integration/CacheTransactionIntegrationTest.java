@@ -0,0 +1,90 @@
+package com.moviereview.integration;
+
+import com.moviereview.config.CacheConfig;
+import com.moviereview.config.TestSecurityConfig;
+import com.moviereview.model.Movie;
+import com.moviereview.repository.MovieRepository;
+import com.moviereview.service.MovieService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that movie detail evictions follow the outcome of the surrounding
+ * transaction: applied once it commits, dropped if it rolls back. Not
+ * @Transactional itself, so that each write really commits or rolls back.
+ */
+@SpringBootTest
+@Import(TestSecurityConfig.class)
+@DisplayName("Integration Tests - Transactional Cache Eviction")
+class CacheTransactionIntegrationTest {
+
+        @Autowired
+        private MovieRepository movieRepository;
+
+        @Autowired
+        private MovieService movieService;
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        private Cache movieDetails;
+
+        private Long movieId;
+
+        @BeforeEach
+        void setUp() {
+                Movie movie = new Movie();
+                movie.setTitle("Cached");
+                movieId = movieRepository.save(movie).getId();
+                movieDetails = cacheManager.getCache(CacheConfig.MOVIE_DETAILS);
+
+                movieService.getMovieDetails(movieId);
+                assertThat(movieDetails.get(movieId)).isNotNull();
+        }
+
+        @AfterEach
+        void tearDown() {
+                movieDetails.clear();
+                movieRepository.deleteById(movieId);
+        }
+
+        @Test
+        @DisplayName("Should evict movie details only after the rating change commits")
+        void ratingChange_ShouldEvictAfterCommit() {
+                transactionTemplate.executeWithoutResult(status -> {
+                        movieService.recordRatingChange(movieId, 5, 0);
+                        // Still cached until commit, so no reader can re-cache the old value
+                        assertThat(movieDetails.get(movieId)).isNotNull();
+                });
+
+                assertThat(movieDetails.get(movieId)).isNull();
+                assertThat(movieService.getMovieDetails(movieId))
+                        .hasValueSatisfying(movie -> assertThat(movie.getAverageRating()).isEqualTo(5.0));
+        }
+
+        @Test
+        @DisplayName("Should keep movie details cached when the rating change rolls back")
+        void ratingChange_ShouldNotEvictOnRollback() {
+                transactionTemplate.executeWithoutResult(status -> {
+                        movieService.recordRatingChange(movieId, 5, 0);
+                        status.setRollbackOnly();
+                });
+
+                assertThat(movieDetails.get(movieId)).isNotNull();
+                assertThat(movieService.getMovieDetails(movieId))
+                        .hasValueSatisfying(movie -> assertThat(movie.getAverageRating()).isZero());
+        }
+}
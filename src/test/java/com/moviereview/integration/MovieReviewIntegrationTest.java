@@ -10,6 +10,7 @@ import com.moviereview.model.User;
 import com.moviereview.repository.MovieRepository;
 import com.moviereview.repository.ReviewRepository;
 import com.moviereview.repository.UserRepository;
+import com.moviereview.service.MovieService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -53,6 +54,9 @@ class MovieReviewIntegrationTest {
         @Autowired
         private ReviewRepository reviewRepository;
 
+        @Autowired
+        private MovieService movieService;
+
         private Movie testMovie;
         private User testUser;
 
@@ -74,7 +78,8 @@ class MovieReviewIntegrationTest {
                 testMovie.setDirector("The Wachowskis");
                 testMovie.setGenre("Sci-Fi");
                 testMovie.setPosterUrl("https://example.com/matrix-poster.jpg");
-                testMovie = movieRepository.save(testMovie);
+                // Saved through the service so the movie is added to the search index
+                testMovie = movieService.saveMovie(testMovie);
 
                 // Create test user
                 testUser = new User();
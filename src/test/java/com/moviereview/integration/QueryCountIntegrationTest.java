@@ -0,0 +1,159 @@
+package com.moviereview.integration;
+
+import com.moviereview.config.TestSecurityConfig;
+import com.moviereview.model.Movie;
+import com.moviereview.model.Review;
+import com.moviereview.model.User;
+import com.moviereview.repository.MovieRepository;
+import com.moviereview.repository.ReviewRepository;
+import com.moviereview.repository.UserRepository;
+import com.moviereview.service.MovieService;
+import com.moviereview.support.QueryCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Guards the list endpoints against N+1 regressions: each must run the same,
+ * small number of SQL statements no matter how many rows it returns.
+ */
+@SpringBootTest
+@Import(TestSecurityConfig.class)
+@Transactional
+@DisplayName("Integration Tests - Query Counts")
+class QueryCountIntegrationTest {
+
+        private MockMvc mockMvc;
+
+        @Autowired
+        private WebApplicationContext webApplicationContext;
+
+        @Autowired
+        private MovieRepository movieRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private ReviewRepository reviewRepository;
+
+        @Autowired
+        private MovieService movieService;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        private Movie reviewedMovie;
+
+        @BeforeEach
+        void setUp() {
+                mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+                reviewRepository.deleteAll();
+                movieRepository.deleteAll();
+                userRepository.deleteAll();
+
+                reviewedMovie = addMoviesWithReviews(1, 1).get(0);
+        }
+
+        @Test
+        @DisplayName("List endpoints should run a constant number of queries")
+        void listEndpoints_ShouldRunConstantQueries() throws Exception {
+                // Given - one movie with one review
+                int[] small = statementCounts();
+
+                // When - the same endpoints return 20 movies and 5 reviews per movie
+                addMoviesWithReviews(19, 5);
+                addReviews(reviewedMovie, 4, "late");
+                int[] large = statementCounts();
+
+                // Then
+                assertThat(large).containsExactly(small);
+        }
+
+        @Test
+        @DisplayName("List endpoints should read each list with a single query")
+        void listEndpoints_ShouldUseExpectedQueries() throws Exception {
+                addMoviesWithReviews(5, 3);
+
+                // Catalog version + movie list
+                assertThat(statementsFor(get("/api/movies"))).isEqualTo(2);
+                // Matching is in memory; one query loads the matched movies
+                assertThat(statementsFor(get("/api/movies/search").param("query", "matrix"))).isEqualTo(1);
+                // lastModified lookup + review list
+                assertThat(statementsFor(get("/api/reviews/movie/" + reviewedMovie.getId()))).isEqualTo(2);
+                assertThat(statementsFor(get("/api/reviews/movie/" + reviewedMovie.getId() + "/page"))).isEqualTo(1);
+                assertThat(statementsFor(get("/api/reviews/all"))).isEqualTo(1);
+        }
+
+        private int[] statementCounts() throws Exception {
+                return new int[] {
+                                statementsFor(get("/api/movies")),
+                                statementsFor(get("/api/movies/search").param("query", "matrix")),
+                                statementsFor(get("/api/reviews/movie/" + reviewedMovie.getId())),
+                                statementsFor(get("/api/reviews/movie/" + reviewedMovie.getId() + "/page")),
+                                statementsFor(get("/api/reviews/all"))
+                };
+        }
+
+        private int statementsFor(RequestBuilder request) throws Exception {
+                QueryCounter.reset();
+                mockMvc.perform(request).andExpect(status().isOk());
+                return QueryCounter.count();
+        }
+
+        /**
+         * Saves movies with reviews by distinct users, then flushes and clears the
+         * persistence context so pending inserts are not counted against a request
+         * and every request reads from the database.
+         */
+        private List<Movie> addMoviesWithReviews(int movieCount, int reviewsPerMovie) {
+                List<Movie> movies = new ArrayList<>();
+                for (int i = 0; i < movieCount; i++) {
+                        Movie movie = new Movie();
+                        movie.setTitle("The Matrix " + (movieRepository.count() + 1));
+                        movie.setGenre("Sci-Fi");
+                        movie = movieService.saveMovie(movie);
+                        addReviews(movie, reviewsPerMovie, "user" + movie.getId() + "-");
+                        movies.add(movie);
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return movies;
+        }
+
+        private void addReviews(Movie movie, int count, String usernamePrefix) {
+                for (int i = 0; i < count; i++) {
+                        User user = new User();
+                        user.setUsername(usernamePrefix + i);
+                        user.setEmail(usernamePrefix + i + "@example.com");
+                        user.setPassword("password123");
+                        user = userRepository.save(user);
+
+                        Review review = new Review();
+                        review.setMovie(movieRepository.getReferenceById(movie.getId()));
+                        review.setUser(user);
+                        review.setRating(1 + i % 5);
+                        review.setComment("Review " + i);
+                        reviewRepository.save(review);
+                }
+                entityManager.flush();
+                entityManager.clear();
+        }
+}
@@ -0,0 +1,115 @@
+package com.moviereview.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Query Metrics Interceptor Tests")
+class QueryMetricsInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryMetricsInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new QueryMetricsInterceptor(meterRegistry);
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Should publish per-request stats tagged by controller method")
+    void afterCompletion_ShouldRecordStatsForHandlerMethod() throws Exception {
+        HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("handler"));
+
+        interceptor.preHandle(request, response, handler);
+        RequestQueryStats stats = RequestQueryStats.current();
+        stats.statementPrepared();
+        stats.statementPrepared();
+        stats.entityLoaded();
+        stats.addDatabaseTime(TimeUnit.MILLISECONDS.toNanos(3));
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(RequestQueryStats.current()).isNull();
+        assertThat(meterRegistry.get("app.request.jdbc.statements")
+                .tag("controller", "QueryMetricsInterceptorTest")
+                .tag("method", "handler")
+                .summary().totalAmount()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("app.request.entities.loaded").summary().totalAmount()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("app.request.db.time").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should record entity loads and serialization time from the Hibernate and JSON hooks")
+    void afterCompletion_ShouldRecordEntityLoadsAndSerialization() throws Exception {
+        HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("handler"));
+
+        interceptor.preHandle(request, response, handler);
+        new EntityLoadCountingInterceptor().onLoad(new Object(), (Object) 1L, null, null, null);
+        new TimedJacksonHttpMessageConverter(new ObjectMapper())
+                .write(Map.of("title", "Inception"), MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(meterRegistry.get("app.request.entities.loaded").summary().totalAmount()).isEqualTo(1.0);
+        Timer serialization = meterRegistry.get("app.request.serialization.time").timer();
+        assertThat(serialization.count()).isEqualTo(1);
+        assertThat(serialization.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should report the statements issued so far in the X-Query-Count header")
+    void queryCountHeader_ShouldReportStatementCount() {
+        interceptor.preHandle(request, response, new Object());
+        RequestQueryStats.current().statementPrepared();
+        RequestQueryStats.current().statementPrepared();
+        ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(response);
+
+        new QueryCountHeaderAdvice().beforeBodyWrite("body", null, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(request), serverResponse);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertThat(serverResponse.getHeaders().getFirst(QueryCountHeaderAdvice.HEADER)).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("Should not track work outside a request")
+    void current_OutsideRequest_ShouldBeNull() {
+        assertThat(RequestQueryStats.current()).isNull();
+
+        // Hibernate callbacks outside a request must be no-ops
+        new QueryStatsSessionListener().jdbcPrepareStatementStart();
+        new EntityLoadCountingInterceptor().onLoad(new Object(), (Object) 1L, null, null, null);
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should release the stats when the request continues asynchronously")
+    void afterConcurrentHandlingStarted_ShouldClearStats() {
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+
+        assertThat(RequestQueryStats.current()).isNull();
+    }
+
+    @SuppressWarnings("unused")
+    private void handler() {
+    }
+}
@@ -0,0 +1,195 @@
+package com.moviereview.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import com.moviereview.dto.MovieDTO;
+import com.moviereview.dto.ReviewDTO;
+import com.moviereview.model.Movie;
+import com.moviereview.model.Review;
+import com.moviereview.model.User;
+import com.moviereview.support.QueryCounter;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class MovieRepositoryTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void recalculateRatingAggregates() {
+        Movie reviewed = movieRepository.save(movie("Reviewed"));
+        Movie unreviewed = movieRepository.save(movie("Unreviewed"));
+        reviewRepository.save(review(reviewed, user("alice"), 5));
+        reviewRepository.save(review(reviewed, user("bob"), 2));
+
+        int updated = movieRepository.recalculateRatingAggregates(reviewed.getId(), unreviewed.getId(), Instant.now());
+
+        assertEquals(2, updated);
+        Movie recalculated = movieRepository.findById(reviewed.getId()).orElseThrow();
+        assertEquals(7L, recalculated.getRatingSum());
+        assertEquals(2, recalculated.getRatingCount());
+        assertEquals(3.5, recalculated.getAvgRating());
+        assertEquals(0, recalculated.getRating1Count());
+        assertEquals(1, recalculated.getRating2Count());
+        assertEquals(1, recalculated.getRating5Count());
+        Movie empty = movieRepository.findById(unreviewed.getId()).orElseThrow();
+        assertEquals(0L, empty.getRatingSum());
+        assertEquals(0, empty.getRatingCount());
+        assertEquals(0.0, empty.getAvgRating());
+        MovieRepository.RatingSnapshot snapshot = movieRepository.findRatingSnapshotById(reviewed.getId()).orElseThrow();
+        assertEquals(7L, snapshot.getRatingSum());
+        assertEquals(2, snapshot.getRatingCount());
+    }
+
+    @Test
+    public void applyRatingDeltaUpdatesSumCountAndAverage() {
+        Movie movie = movieRepository.save(movie("Rated"));
+
+        assertEquals(1, movieRepository.applyRatingDelta(movie.getId(), 5, 1, 5, 0, Instant.now()));
+        movieRepository.applyRatingDelta(movie.getId(), 2, 1, 2, 0, Instant.now());
+        // Delete the 5-star review
+        movieRepository.applyRatingDelta(movie.getId(), -5, -1, 0, 5, Instant.now());
+
+        Movie updated = movieRepository.findById(movie.getId()).orElseThrow();
+        assertEquals(2L, updated.getRatingSum());
+        assertEquals(1, updated.getRatingCount());
+        assertEquals(2.0, updated.getAvgRating());
+        assertEquals(0, movieRepository.applyRatingDelta(-1L, 5, 1, 5, 0, Instant.now()));
+    }
+
+    @Test
+    public void applyRatingDeltaMaintainsRatingCounters() {
+        Movie movie = movieRepository.save(movie("Counted"));
+
+        movieRepository.applyRatingDelta(movie.getId(), 4, 1, 4, 0, Instant.now());
+        movieRepository.applyRatingDelta(movie.getId(), 5, 1, 5, 0, Instant.now());
+        // Edit the 4-star review to 2 stars
+        movieRepository.applyRatingDelta(movie.getId(), -2, 0, 2, 4, Instant.now());
+
+        Movie updated = movieRepository.findById(movie.getId()).orElseThrow();
+        assertEquals(7L, updated.getRatingSum());
+        assertEquals(2, updated.getRatingCount());
+        assertEquals(3.5, updated.getAvgRating());
+        assertEquals(1, updated.getRating2Count());
+        assertEquals(0, updated.getRating4Count());
+        assertEquals(1, updated.getRating5Count());
+    }
+
+    @Test
+    public void ratingChangesStampLastModified() {
+        Movie movie = movieRepository.save(movie("Stamped"));
+        Instant reviewedAt = Instant.parse("2030-01-01T00:00:00Z");
+
+        movieRepository.applyRatingDelta(movie.getId(), 3, 1, 3, 0, reviewedAt);
+
+        assertEquals(reviewedAt, movieRepository.findLastModifiedById(movie.getId()).orElseThrow());
+        MovieRepository.CatalogVersion version = movieRepository.findCatalogVersion();
+        assertEquals(movieRepository.count(), version.getMovieCount());
+        assertEquals(reviewedAt, version.getLastModified());
+
+        // An edited rating leaves the review count alone but still changes the movie
+        Instant editedAt = reviewedAt.plusSeconds(60);
+        movieRepository.applyRatingDelta(movie.getId(), 2, 0, 5, 3, editedAt);
+
+        assertEquals(editedAt, movieRepository.findLastModifiedById(movie.getId()).orElseThrow());
+        assertEquals(editedAt, movieRepository.findCatalogVersion().getLastModified());
+    }
+
+    @Test
+    public void findIdsAfter() {
+        Movie first = movieRepository.save(movie("First"));
+        Movie second = movieRepository.save(movie("Second"));
+        Movie third = movieRepository.save(movie("Third"));
+
+        assertEquals(List.of(first.getId(), second.getId()), movieRepository.findIdsAfter(0L, PageRequest.of(0, 2)));
+        assertEquals(List.of(third.getId()), movieRepository.findIdsAfter(second.getId(), PageRequest.of(0, 2)));
+    }
+
+    @Test
+    public void findAllAsDtoByIdIn() {
+        Movie movie = movieRepository.save(movie("Projected"));
+        movieRepository.applyRatingDelta(movie.getId(), 4, 1, 4, 0, Instant.now());
+
+        List<MovieDTO> movies = movieRepository.findAllAsDtoByIdIn(List.of(movie.getId()));
+
+        assertEquals(1, movies.size());
+        assertEquals("Projected", movies.get(0).getTitle());
+        assertEquals(4.0, movies.get(0).getAverageRating());
+        assertEquals(1, movies.get(0).getReviewCount());
+        assertEquals(1, movies.get(0).getRatingDistribution().get(4));
+    }
+
+    @Test
+    public void reviewListQueriesReturnDtos() {
+        Movie movie = movieRepository.save(movie("Reviewed"));
+        User alice = user("alice");
+        reviewRepository.save(review(movie, alice, 5));
+        reviewRepository.save(review(movie, user("bob"), 3));
+        reviewRepository.flush();
+
+        QueryCounter.reset();
+        List<ReviewDTO> byMovie = reviewRepository.findAllByMovieIdAsDto(movie.getId());
+        // Movie title and usernames come from the same query, not from lazy loads
+        QueryCounter.assertStatementCount(1);
+        List<ReviewDTO> byUser = reviewRepository.findAllByUserIdAsDto(alice.getId());
+
+        assertEquals(2, byMovie.size());
+        assertEquals("Reviewed", byMovie.get(0).getMovieTitle());
+        assertEquals(1, byUser.size());
+        assertEquals("alice", byUser.get(0).getUsername());
+        assertEquals(2, reviewRepository.findFirstPageByMovieIdAsDto(movie.getId(), PageRequest.of(0, 10)).getContent().size());
+    }
+
+    @Test
+    public void findByIdForUpdateLocksReview() {
+        Movie movie = movieRepository.save(movie("Locked"));
+        Review review = reviewRepository.save(review(movie, user("alice"), 4));
+        reviewRepository.flush();
+
+        Review locked = reviewRepository.findByIdForUpdate(review.getId()).orElseThrow();
+
+        assertEquals(4, locked.getRating());
+        assertEquals(movie.getId(), locked.getMovie().getId());
+        assertFalse(reviewRepository.findByIdForUpdate(-1L).isPresent());
+    }
+
+    private Movie movie(String title) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        return movie;
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+
+    private Review review(Movie movie, User user, int rating) {
+        Review review = new Review();
+        review.setMovie(movie);
+        review.setUser(user);
+        review.setRating(rating);
+        return review;
+    }
+}
@@ -0,0 +1,216 @@
+package com.moviereview.security;
+
+import com.moviereview.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Bounded Password Encoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CountDownLatch release;
+    private CountDownLatch started;
+    private final AtomicInteger hashed = new AtomicInteger();
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        release = new CountDownLatch(1);
+        started = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hash and verify through the pool and record latency")
+    void encodeAndMatches_ShouldDelegateAndRecordTimers() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1,
+                Duration.ofSeconds(5), meterRegistry);
+
+        String hash = encoder.encode("password123");
+
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("auth.password.hashing.time").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("auth.password.hashing.time").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when every worker is busy and the queue is full")
+    void encode_WhenSaturated_ShouldRejectImmediately() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1,
+                Duration.ofSeconds(5), meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitForQueueDepth(1);
+
+        assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(meterRegistry.get("auth.password.hashing.rejected").tag("reason", "queue_full").counter().count())
+                .isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash-a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash-b");
+    }
+
+    @Test
+    @DisplayName("Should give up on requests that wait longer than the configured maximum")
+    void matches_WhenWaitExceeded_ShouldReject() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1,
+                Duration.ofMillis(50), meterRegistry);
+
+        assertThatThrownBy(() -> encoder.matches("a", "hash-a"))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .satisfies(e -> assertThat(((ServiceOverloadedException) e).getRetryAfterSeconds()).isPositive());
+        assertThat(meterRegistry.get("auth.password.hashing.rejected").tag("reason", "timeout").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should skip queued hashes whose caller has already timed out")
+    void encode_WhenQueuedPastDeadline_ShouldSkipHashing() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1,
+                Duration.ofMillis(100), meterRegistry);
+
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> catchThrowable(() -> encoder.encode("a")));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> encoder.encode("b"))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        // "b" was dropped from the queue on timeout and must never reach the delegate
+        waitForEmptyQueue();
+        long idleBy = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hashing.active").gauge().value() > 0 && System.nanoTime() < idleBy) {
+            Thread.sleep(5);
+        }
+        assertThat(encoder.encode("c")).isEqualTo("hash-c");
+
+        assertThat(hashed.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject rather than return nothing when a queued hash is skipped at its deadline")
+    void matches_WhenWorkerFreedAtDeadline_ShouldNeverReturnSkippedResult() throws Exception {
+        for (int attempt = 0; attempt < 20; attempt++) {
+            meterRegistry = new SimpleMeterRegistry();
+            release = new CountDownLatch(1);
+            started = new CountDownLatch(1);
+            encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1,
+                    Duration.ofMillis(50), meterRegistry);
+
+            CompletableFuture<Void> running = CompletableFuture.runAsync(() -> catchThrowable(() -> encoder.encode("a")));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            // Free the worker around the queued hash's deadline, so it may reach it just too late
+            CountDownLatch freeWorker = release;
+            long freeAfterMillis = 45 + attempt / 2;
+            CompletableFuture.runAsync(() -> {
+                try {
+                    Thread.sleep(freeAfterMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                freeWorker.countDown();
+            });
+
+            Throwable thrown = catchThrowable(() -> encoder.matches("b", "hash-b"));
+
+            if (thrown != null) {
+                assertThat(thrown).isInstanceOf(ServiceOverloadedException.class);
+            }
+            running.get(5, TimeUnit.SECONDS);
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should expose queue depth as a gauge")
+    void queueGauge_ShouldReflectWaitingRequests() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 2,
+                Duration.ofSeconds(5), meterRegistry);
+
+        CompletableFuture.runAsync(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> encoder.encode("b"));
+        waitForQueueDepth(1);
+
+        assertThat(meterRegistry.get("auth.password.hashing.queue").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("auth.password.hashing.active").gauge().value()).isEqualTo(1.0);
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                block();
+                return "hash-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                block();
+                return encodedPassword.equals("hash-" + rawPassword);
+            }
+
+            private void block() {
+                hashed.incrementAndGet();
+                started.countDown();
+                // Like a BCrypt round, keeps going when the caller cancels with an interrupt
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                boolean interrupted = false;
+                while (release.getCount() > 0 && System.nanoTime() < deadline) {
+                    try {
+                        release.await(10, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    private void waitForEmptyQueue() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hashing.queue").gauge().value() > 0
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void waitForQueueDepth(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hashing.queue").gauge().value() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
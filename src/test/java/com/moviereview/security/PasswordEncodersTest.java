@@ -0,0 +1,58 @@
+package com.moviereview.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Password Encoders Tests")
+class PasswordEncodersTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Test
+    @DisplayName("Should write prefixed hashes at the configured strength")
+    void encode_ShouldUseBcryptIdAndStrength() {
+        PasswordEncoder encoder = PasswordEncoders.delegatingBCrypt(5);
+
+        String hash = encoder.encode(PASSWORD);
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches(PASSWORD, hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should verify legacy unprefixed hashes and flag them for upgrade")
+    void legacyHash_ShouldMatchAndNeedUpgrade() {
+        PasswordEncoder encoder = PasswordEncoders.delegatingBCrypt(5);
+        String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        assertThat(encoder.matches(PASSWORD, legacyHash)).isTrue();
+        assertThat(encoder.matches("wrong", legacyHash)).isFalse();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should flag hashes below the configured strength for upgrade")
+    void weakerHash_ShouldNeedUpgrade() {
+        String weakHash = PasswordEncoders.delegatingBCrypt(4).encode(PASSWORD);
+        PasswordEncoder encoder = PasswordEncoders.delegatingBCrypt(6);
+
+        assertThat(encoder.matches(PASSWORD, weakHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(weakHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should flag hashes above the configured strength so lowering it takes effect")
+    void strongerHash_ShouldNeedUpgrade() {
+        String strongHash = PasswordEncoders.delegatingBCrypt(6).encode(PASSWORD);
+        PasswordEncoder encoder = PasswordEncoders.delegatingBCrypt(4);
+
+        assertThat(encoder.matches(PASSWORD, strongHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(strongHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode(PASSWORD))).isFalse();
+    }
+}
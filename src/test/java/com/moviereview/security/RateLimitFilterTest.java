@@ -0,0 +1,108 @@
+package com.moviereview.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Rate Limit Filter Tests")
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimiter rateLimiter = new RateLimiter(new SimpleMeterRegistry(), true, 100, 600,
+                1, 60, 1, 60, 1, 60, 1, 60, 1, 60);
+        filter = new RateLimitFilter(rateLimiter, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should reject repeated auth requests from the same IP with 429")
+    void authRequests_ShouldBeLimitedPerIp() throws Exception {
+        assertThat(send("POST", "/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = send("POST", "/auth/register", "10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+        assertThat(rejected.getContentAsString()).contains("Too Many Requests");
+        assertThat(send("POST", "/auth/login", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should limit review submission per user across IPs")
+    void reviewSubmission_ShouldBeLimitedPerUser() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+
+        assertThat(send("POST", "/api/reviews/movie/1", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/reviews/movie/2", "10.0.0.2").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should not charge the IP when the per-user limit rejects a review")
+    void reviewSubmission_RejectedForUser_ShouldNotUseIpBudget() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        assertThat(send("POST", "/api/reviews/movie/1", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/reviews/movie/2", "10.0.0.2").getStatus()).isEqualTo(429);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bob", null, List.of()));
+        assertThat(send("POST", "/api/reviews/movie/2", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should limit token refresh and logout apart from login")
+    void refreshAndLogout_ShouldNotUseAuthBudget() throws Exception {
+        assertThat(send("POST", "/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        assertThat(send("POST", "/auth/refresh", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/auth/logout", "10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(send("POST", "/auth/register", "10.0.0.1").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should limit review exports per user")
+    void export_ShouldBeLimitedPerUser() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+
+        assertThat(send("GET", "/api/reviews/export", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("GET", "/api/reviews/export", "10.0.0.2").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should not limit read endpoints")
+    void readRequests_ShouldPassThrough() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(send("GET", "/api/reviews/movie/1", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.moviereview.security;
+
+import com.moviereview.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Rate Limiter Tests")
+class RateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private RateLimiter limiter(boolean enabled, int maxKeys, long idleTimeoutSeconds) {
+        return new RateLimiter(meterRegistry, enabled, maxKeys, idleTimeoutSeconds,
+                3, 60, 2, 60, 2, 60, 1, 60, 1, 60);
+    }
+
+    @Test
+    @DisplayName("Should admit up to the rule capacity and then reject with Retry-After")
+    void checkLimit_ShouldRejectOnceCapacityIsUsed() {
+        RateLimiter rateLimiter = limiter(true, 100, 600);
+
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.checkLimit(rateLimiter.authRule(), RateLimiter.KEY_IP, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> rateLimiter.checkLimit(rateLimiter.authRule(), RateLimiter.KEY_IP, "10.0.0.1"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds())
+                        .isBetween(1L, 20L));
+        assertThat(meterRegistry.get("rate.limit.rejected")
+                .tag("rule", "auth").tag("key", "ip").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key and per rule")
+    void checkLimit_ShouldIsolateKeysAndRules() {
+        RateLimiter rateLimiter = limiter(true, 100, 600);
+
+        rateLimiter.checkLimit(rateLimiter.reviewSubmitRule(), RateLimiter.KEY_USER, "alice");
+
+        assertThatCode(() -> rateLimiter.checkLimit(rateLimiter.reviewSubmitRule(), RateLimiter.KEY_USER, "bob"))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> rateLimiter.checkLimit(rateLimiter.reviewSubmitRule(), RateLimiter.KEY_IP, "alice"))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> rateLimiter.checkLimit(rateLimiter.loginRule(), RateLimiter.KEY_USER, "alice"))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> rateLimiter.checkLimit(rateLimiter.reviewSubmitRule(), RateLimiter.KEY_USER, "alice"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("Should admit everything when disabled")
+    void checkLimit_WhenDisabled_ShouldNotLimit() {
+        RateLimiter rateLimiter = limiter(false, 100, 600);
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.checkLimit(rateLimiter.reviewSubmitRule(), RateLimiter.KEY_IP, "10.0.0.1");
+        }
+
+        assertThat(rateLimiter.trackedKeys()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject only new keys while the key map is full of refilling buckets")
+    void checkLimit_WhenKeyMapFull_ShouldRejectOnlyNewKeys() {
+        RateLimiter rateLimiter = new RateLimiter(meterRegistry, true, 2, 600, 2, 60, 2, 60, 2, 60, 1, 60, 1, 60);
+        rateLimiter.checkLimit(rateLimiter.authRule(), RateLimiter.KEY_IP, "10.0.0.1");
+        rateLimiter.checkLimit(rateLimiter.authRule(), RateLimiter.KEY_IP, "10.0.0.2");
+
+        assertThatThrownBy(() -> rateLimiter.checkLimit(rateLimiter.authRule(), RateLimiter.KEY_IP, "10.0.0.3"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(2);
+        // Tracked clients keep their own budget
+        assertThatCode(() -> rateLimiter.checkLimit(rateLimiter.authRule(), RateLimiter.KEY_IP, "10.0.0.1"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should make room for new keys by dropping full buckets")
+    void checkLimit_WhenKeyMapFull_ShouldEvictFullBuckets() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(meterRegistry, true, 2, 600, 1000, 1, 1, 60, 1, 60, 1, 60, 1, 60);
+        rateLimiter.checkLimit(rateLimiter.authRule(), RateLimiter.KEY_IP, "10.0.0.1");
+        rateLimiter.checkLimit(rateLimiter.authRule(), RateLimiter.KEY_IP, "10.0.0.2");
+        TimeUnit.MILLISECONDS.sleep(5);
+
+        assertThatCode(() -> rateLimiter.checkLimit(rateLimiter.authRule(), RateLimiter.KEY_IP, "10.0.0.3"))
+                .doesNotThrowAnyException();
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count only charged attempts against checkAvailable")
+    void checkAvailable_ShouldNotConsumeTokens() {
+        RateLimiter rateLimiter = limiter(true, 100, 600);
+
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.checkAvailable(rateLimiter.loginRule(), RateLimiter.KEY_USER, "alice@10.0.0.1");
+        }
+        rateLimiter.charge(rateLimiter.loginRule(), RateLimiter.KEY_USER, "alice@10.0.0.1");
+        rateLimiter.charge(rateLimiter.loginRule(), RateLimiter.KEY_USER, "alice@10.0.0.1");
+
+        assertThatThrownBy(() -> rateLimiter.checkAvailable(rateLimiter.loginRule(), RateLimiter.KEY_USER, "alice@10.0.0.1"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThatCode(() -> rateLimiter.checkAvailable(rateLimiter.loginRule(), RateLimiter.KEY_USER, "alice@10.0.0.2"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should evict buckets that have been full for the idle timeout")
+    void evictIdleBuckets_ShouldDropOnlyRefilledBuckets() throws Exception {
+        RateLimiter rateLimiter = limiter(true, 100, 0);
+        rateLimiter.checkLimit(rateLimiter.authRule(), RateLimiter.KEY_IP, "10.0.0.1");
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(1);
+
+        // One token out of three per minute is still refilling
+        rateLimiter.evictIdleBuckets();
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(1);
+
+        RateLimiter fastRefill = new RateLimiter(meterRegistry, true, 100, 0, 1000, 1, 1, 60, 1, 60, 1, 60, 1, 60);
+        fastRefill.checkLimit(fastRefill.authRule(), RateLimiter.KEY_IP, "10.0.0.1");
+        TimeUnit.MILLISECONDS.sleep(5);
+        fastRefill.evictIdleBuckets();
+        assertThat(fastRefill.trackedKeys()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void tokenBucket_ShouldRefillAfterInterval() {
+        long interval = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(2, interval, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isEqualTo(interval);
+        assertThat(bucket.tryConsume(interval)).isZero();
+        assertThat(bucket.isIdle(3 * interval, interval)).isFalse();
+        assertThat(bucket.isIdle(4 * interval, interval)).isTrue();
+    }
+}
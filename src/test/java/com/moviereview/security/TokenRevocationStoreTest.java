@@ -0,0 +1,129 @@
+package com.moviereview.security;
+
+import com.moviereview.model.RevokedToken;
+import com.moviereview.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Revocation Store Tests")
+class TokenRevocationStoreTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TokenRevocationStore(revokedTokenRepository, 100);
+    }
+
+    @Test
+    @DisplayName("Should report revoked tokens and persist the revocation")
+    void revoke_ShouldMarkTokenRevoked() {
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+
+        store.revoke("jti-1", "testuser", expiresAt);
+
+        assertThat(store.isRevoked("jti-1")).isTrue();
+        assertThat(store.isRevoked("jti-2")).isFalse();
+        assertThat(store.isRevoked(null)).isFalse();
+        verify(revokedTokenRepository).save(argThat(token ->
+                token.getTokenId().equals("jti-1") && token.getExpiresAt().equals(expiresAt)));
+    }
+
+    @Test
+    @DisplayName("Should ignore tokens that have already expired")
+    void revoke_WhenAlreadyExpired_ShouldDoNothing() {
+        store.revoke("jti-1", "testuser", Instant.now().minusSeconds(1));
+
+        assertThat(store.isRevoked("jti-1")).isFalse();
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should load unexpired revocations from the database at startup")
+    void load_ShouldRestoreRevocations() {
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        when(revokedTokenRepository.findAllByExpiresAtAfter(any()))
+                .thenReturn(List.of(new RevokedToken("jti-1", "testuser", expiresAt, Instant.now())));
+
+        store.load();
+
+        assertThat(store.isRevoked("jti-1")).isTrue();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop expired revocations when pruning")
+    void pruneExpired_ShouldRemoveExpiredAndKeepActive() {
+        store.revoke("jti-active", "testuser", Instant.now().plusSeconds(3600));
+        store.revoke("jti-expiring", "testuser", Instant.now().plusMillis(20));
+        when(revokedTokenRepository.deleteExpired(any())).thenReturn(1);
+        when(revokedTokenRepository.findAllByExpiresAtAfter(any())).thenReturn(List.of());
+
+        await(50);
+        store.pruneExpired();
+
+        assertThat(store.isRevoked("jti-active")).isTrue();
+        assertThat(store.isRevoked("jti-expiring")).isFalse();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should pick up revocations made by other instances since the last sync")
+    void syncRecent_ShouldAddNewRevocations() {
+        Instant revokedAt = Instant.now();
+        when(revokedTokenRepository.findAllByRevokedAtAfter(any())).thenReturn(List.of(
+                new RevokedToken("jti-remote", "testuser", revokedAt.plusSeconds(900), revokedAt),
+                new RevokedToken("jti-expired", "testuser", revokedAt.minusSeconds(1), revokedAt)));
+
+        store.syncRecent();
+
+        assertThat(store.isRevoked("jti-remote")).isTrue();
+        assertThat(store.isRevoked("jti-expired")).isFalse();
+
+        // The next sync only looks back a little before this one
+        store.syncRecent();
+        verify(revokedTokenRepository).findAllByRevokedAtAfter(argThat(since -> since.isAfter(revokedAt.minusSeconds(60))));
+    }
+
+    @Test
+    @DisplayName("Bloom filter should never miss an added value and rarely report others")
+    void bloomFilter_ShouldHaveNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        List<String> added = IntStream.range(0, 1_000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+        added.forEach(filter::add);
+
+        assertThat(added).allMatch(filter::mightContain);
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+        assertThat(falsePositives).isLessThan(300);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
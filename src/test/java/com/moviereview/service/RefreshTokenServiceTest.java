@@ -0,0 +1,136 @@
+package com.moviereview.service;
+
+import com.moviereview.exception.InvalidTokenException;
+import com.moviereview.model.RefreshToken;
+import com.moviereview.model.User;
+import com.moviereview.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Refresh Token Service Tests")
+class RefreshTokenServiceTest {
+
+    private static final long LIFETIME_MS = Duration.ofDays(14).toMillis();
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, LIFETIME_MS);
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        testUser.setRole("USER");
+    }
+
+    private RefreshToken storedToken(String rawToken, String familyId, Instant expiresAt, Instant usedAt) {
+        return new RefreshToken(10L, RefreshTokenService.hash(rawToken), familyId, testUser,
+                expiresAt, Instant.now(), usedAt);
+    }
+
+    @Test
+    @DisplayName("Should store only the hash of an issued token")
+    void issue_ShouldPersistHashNotRawToken() {
+        String rawToken = refreshTokenService.issue(testUser);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(rawToken).hasSize(43);
+        assertThat(saved.getValue().getTokenHash())
+                .isEqualTo(RefreshTokenService.hash(rawToken))
+                .isNotEqualTo(rawToken)
+                .hasSize(64);
+        assertThat(saved.getValue().getUser()).isSameAs(testUser);
+        assertThat(saved.getValue().getExpiresAt()).isAfter(Instant.now().plus(Duration.ofDays(13)));
+    }
+
+    @Test
+    @DisplayName("Should rotate a valid token into a new one in the same family")
+    void rotate_ShouldConsumeTokenAndIssueReplacement() {
+        RefreshToken current = storedToken("old-token", "family-1", Instant.now().plusSeconds(3600), null);
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("old-token")))
+                .thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("old-token");
+
+        assertThat(rotation.user()).isSameAs(testUser);
+        assertThat(rotation.refreshToken()).isNotEqualTo("old-token");
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getFamilyId()).isEqualTo("family-1");
+        assertThat(saved.getValue().getTokenHash()).isEqualTo(RefreshTokenService.hash(rotation.refreshToken()));
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a used token is presented again")
+    void rotate_WhenTokenReused_ShouldRevokeFamily() {
+        RefreshToken used = storedToken("old-token", "family-1", Instant.now().plusSeconds(3600), Instant.now());
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("old-token")))
+                .thenReturn(Optional.of(used));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("old-token"))
+                .isInstanceOf(InvalidTokenException.class);
+
+        verify(refreshTokenRepository).deleteByFamilyId("family-1");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should treat losing a concurrent rotation as reuse")
+    void rotate_WhenConcurrentRotationWins_ShouldRevokeFamily() {
+        RefreshToken current = storedToken("old-token", "family-1", Instant.now().plusSeconds(3600), null);
+        when(refreshTokenRepository.findByTokenHashWithUser(any())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("old-token"))
+                .isInstanceOf(InvalidTokenException.class);
+
+        verify(refreshTokenRepository).deleteByFamilyId("family-1");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown and expired tokens")
+    void rotate_WhenUnknownOrExpired_ShouldThrow() {
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("unknown")))
+                .thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("expired")))
+                .thenReturn(Optional.of(storedToken("expired", "family-1", Instant.now().minusSeconds(1), null)));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("unknown"))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate("expired"))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("expired");
+        verify(refreshTokenRepository, never()).markUsed(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should revoke the family of a token on logout")
+    void revoke_ShouldDeleteFamily() {
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("token")))
+                .thenReturn(Optional.of(storedToken("token", "family-1", Instant.now().plusSeconds(3600), null)));
+
+        refreshTokenService.revoke("token");
+
+        verify(refreshTokenRepository).deleteByFamilyId("family-1");
+    }
+}
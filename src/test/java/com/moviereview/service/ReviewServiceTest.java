@@ -1,8 +1,10 @@
 package com.moviereview.service;
 
+import com.moviereview.dto.ReviewDTO;
 import com.moviereview.exception.DuplicateResourceException;
 import com.moviereview.exception.ResourceNotFoundException;
 import com.moviereview.exception.ValidationException;
+import com.moviereview.index.RecentReviewBuffer;
 import com.moviereview.model.Movie;
 import com.moviereview.model.Review;
 import com.moviereview.model.User;
@@ -13,16 +15,24 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +48,12 @@ class ReviewServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MovieService movieService;
+
+    @Mock
+    private RecentReviewBuffer recentReviews;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -47,6 +63,8 @@ class ReviewServiceTest {
 
     @BeforeEach
     void setUp() {
+        reviewService.setMovieService(movieService);
+
         testMovie = new Movie();
         testMovie.setId(1L);
         testMovie.setTitle("Test Movie");
@@ -68,18 +86,17 @@ class ReviewServiceTest {
     void getReviewsForMovie_ShouldReturnReviews() {
         // Given
         Long movieId = 1L;
-        List<Review> expectedReviews = Arrays.asList(testReview);
-        when(movieRepository.findById(movieId)).thenReturn(Optional.of(testMovie));
-        when(reviewRepository.findByMovie(testMovie)).thenReturn(expectedReviews);
+        List<ReviewDTO> expectedReviews = Arrays.asList(ReviewDTO.fromEntity(testReview));
+        when(reviewRepository.findAllByMovieIdAsDto(movieId)).thenReturn(expectedReviews);
 
         // When
-        List<Review> actualReviews = reviewService.getReviewsForMovie(movieId);
+        List<ReviewDTO> actualReviews = reviewService.getReviewsForMovie(movieId);
 
         // Then
         assertThat(actualReviews).hasSize(1);
         assertThat(actualReviews.get(0).getRating()).isEqualTo(5);
-        verify(movieRepository).findById(movieId);
-        verify(reviewRepository).findByMovie(testMovie);
+        verify(reviewRepository).findAllByMovieIdAsDto(movieId);
+        verify(movieRepository, never()).findById(any());
     }
 
     @Test
@@ -87,15 +104,70 @@ class ReviewServiceTest {
     void getReviewsForMovie_WhenMovieNotFound_ShouldReturnEmptyList() {
         // Given
         Long movieId = 999L;
-        when(movieRepository.findById(movieId)).thenReturn(Optional.empty());
+        when(reviewRepository.findAllByMovieIdAsDto(movieId)).thenReturn(List.of());
 
         // When
-        List<Review> actualReviews = reviewService.getReviewsForMovie(movieId);
+        List<ReviewDTO> actualReviews = reviewService.getReviewsForMovie(movieId);
 
         // Then
         assertThat(actualReviews).isEmpty();
-        verify(movieRepository).findById(movieId);
-        verify(reviewRepository, never()).findByMovie(any());
+        verify(reviewRepository).findAllByMovieIdAsDto(movieId);
+    }
+
+    @Test
+    @DisplayName("Should page through reviews that have no review date")
+    void getReviewPageForMovie_WithUndatedCursor_ShouldSeekByIdOnly() {
+        // Given - a cursor pointing at a legacy review without a review date
+        ReviewDTO undated = ReviewDTO.builder().id(7L).movieId(1L).rating(3).build();
+        ReviewCursor cursor = ReviewCursor.decode(ReviewCursor.after(undated).encode());
+        SliceImpl<ReviewDTO> page = new SliceImpl<>(List.of());
+        when(reviewRepository.findPageByMovieIdAfterUndatedAsDto(eq(1L), eq(7L), any(Pageable.class))).thenReturn(page);
+
+        // When
+        Slice<ReviewDTO> result = reviewService.getReviewPageForMovie(1L, cursor, 10);
+
+        // Then
+        assertThat(cursor.getReviewDate()).isNull();
+        assertThat(result).isSameAs(page);
+        verify(reviewRepository, never()).findPageByMovieIdAfterAsDto(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fill a short dated page from the undated tail")
+    void getReviewPageForMovie_WhenDatedRowsRunOut_ShouldContinueWithUndated() {
+        // Given - one dated review left after the cursor, then two legacy reviews without a date
+        ReviewCursor cursor = new ReviewCursor(LocalDateTime.of(2024, 1, 2, 0, 0), 9L);
+        ReviewDTO dated = ReviewDTO.builder().id(8L).movieId(1L).rating(4).build();
+        ReviewDTO undated = ReviewDTO.builder().id(5L).movieId(1L).rating(2).build();
+        when(reviewRepository.findPageByMovieIdAfterAsDto(eq(1L), eq(cursor.getReviewDate()), eq(9L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(dated)));
+        when(reviewRepository.findPageByMovieIdAfterUndatedAsDto(1L, Long.MAX_VALUE, PageRequest.of(0, 1)))
+                .thenReturn(new SliceImpl<>(List.of(undated), PageRequest.of(0, 1), true));
+
+        // When
+        Slice<ReviewDTO> result = reviewService.getReviewPageForMovie(1L, cursor, 2);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(dated, undated);
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not look at undated reviews while dated ones remain")
+    void getReviewPageForMovie_WhenMoreDatedRows_ShouldOnlySeek() {
+        // Given
+        ReviewCursor cursor = new ReviewCursor(LocalDateTime.of(2024, 1, 2, 0, 0), 9L);
+        SliceImpl<ReviewDTO> page = new SliceImpl<>(
+                List.of(ReviewDTO.builder().id(8L).movieId(1L).rating(4).build()), PageRequest.of(0, 1), true);
+        when(reviewRepository.findPageByMovieIdAfterAsDto(eq(1L), eq(cursor.getReviewDate()), eq(9L), any(Pageable.class)))
+                .thenReturn(page);
+
+        // When
+        Slice<ReviewDTO> result = reviewService.getReviewPageForMovie(1L, cursor, 1);
+
+        // Then
+        assertThat(result).isSameAs(page);
+        verify(reviewRepository, never()).findPageByMovieIdAfterUndatedAsDto(any(), any(), any());
     }
 
     @Test
@@ -107,10 +179,11 @@ class ReviewServiceTest {
         Integer rating = 4;
         String comment = "Good movie";
 
-        when(movieRepository.findById(movieId)).thenReturn(Optional.of(testMovie));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(reviewRepository.findByMovieAndUser(testMovie, testUser)).thenReturn(Optional.empty());
-        when(reviewRepository.save(any(Review.class))).thenReturn(testReview);
+        when(movieService.recordRatingChange(movieId, rating, 0)).thenReturn(true);
+        when(movieRepository.getReferenceById(movieId)).thenReturn(testMovie);
+        when(userRepository.getReferenceById(userId)).thenReturn(testUser);
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenReturn(testReview);
+        when(reviewRepository.findByIdWithMovieAndUser(testReview.getId())).thenReturn(Optional.of(testReview));
 
         // When
         Review result = reviewService.submitReview(movieId, userId, rating, comment);
@@ -118,10 +191,14 @@ class ReviewServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getRating()).isEqualTo(5); // From testReview
-        verify(movieRepository).findById(movieId);
-        verify(userRepository).findById(userId);
-        verify(reviewRepository).findByMovieAndUser(testMovie, testUser);
-        verify(reviewRepository).save(any(Review.class));
+        // The movie row is locked by the UPDATE before the INSERT's foreign key check
+        InOrder order = inOrder(reviewRepository, movieService);
+        order.verify(movieService).recordRatingChange(movieId, rating, 0);
+        order.verify(reviewRepository).saveAndFlush(any(Review.class));
+        order.verify(reviewRepository).findByIdWithMovieAndUser(testReview.getId());
+        // No pre-reads: existence and uniqueness are enforced by the database
+        verify(movieRepository, never()).findById(any());
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
@@ -130,16 +207,14 @@ class ReviewServiceTest {
         // Given
         Long movieId = 999L;
         Long userId = 1L;
-        when(movieRepository.findById(movieId)).thenReturn(Optional.empty());
+        when(movieService.recordRatingChange(movieId, 5, 0)).thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> reviewService.submitReview(movieId, userId, 5, "Comment"))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Movie not found with ID: " + movieId);
 
-        verify(movieRepository).findById(movieId);
-        verify(userRepository, never()).findById(any());
-        verify(reviewRepository, never()).save(any());
+        verify(reviewRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -148,17 +223,29 @@ class ReviewServiceTest {
         // Given
         Long movieId = 1L;
         Long userId = 999L;
-        when(movieRepository.findById(movieId)).thenReturn(Optional.of(testMovie));
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(movieService.recordRatingChange(movieId, 5, 0)).thenReturn(true);
+        when(reviewRepository.saveAndFlush(any(Review.class)))
+                .thenThrow(new DataIntegrityViolationException("Cannot add or update a child row: a foreign key constraint fails "
+                        + "(`moviereview`.`reviews`, CONSTRAINT `FKcgy7qjc1r99dp117y9en6lxye` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`))"));
 
         // When & Then
         assertThatThrownBy(() -> reviewService.submitReview(movieId, userId, 5, "Comment"))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("User not found with ID: " + userId);
+    }
 
-        verify(movieRepository).findById(movieId);
-        verify(userRepository).findById(userId);
-        verify(reviewRepository, never()).save(any());
+    @Test
+    @DisplayName("Should not report other constraint violations as a missing user")
+    void submitReview_WhenOtherIntegrityViolation_ShouldRethrow() {
+        // Given
+        DataIntegrityViolationException tooLong =
+                new DataIntegrityViolationException("Data truncation: Data too long for column 'comment' at row 1");
+        when(movieService.recordRatingChange(1L, 5, 0)).thenReturn(true);
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenThrow(tooLong);
+
+        // When & Then
+        assertThatThrownBy(() -> reviewService.submitReview(1L, 1L, 5, "Comment"))
+                .isSameAs(tooLong);
     }
 
     @Test
@@ -167,16 +254,14 @@ class ReviewServiceTest {
         // Given
         Long movieId = 1L;
         Long userId = 1L;
-        when(movieRepository.findById(movieId)).thenReturn(Optional.of(testMovie));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(reviewRepository.findByMovieAndUser(testMovie, testUser)).thenReturn(Optional.of(testReview));
+        when(movieService.recordRatingChange(movieId, 5, 0)).thenReturn(true);
+        when(reviewRepository.saveAndFlush(any(Review.class)))
+                .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation: \"PUBLIC.UK_REVIEWS_MOVIE_USER_INDEX_8\""));
 
         // When & Then
         assertThatThrownBy(() -> reviewService.submitReview(movieId, userId, 5, "Comment"))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessage("User has already reviewed this movie.");
-
-        verify(reviewRepository, never()).save(any());
     }
 
     @Test
@@ -188,7 +273,7 @@ class ReviewServiceTest {
         Integer newRating = 3;
         String newComment = "Updated comment";
 
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(testReview));
+        when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.of(testReview));
         when(reviewRepository.save(any(Review.class))).thenReturn(testReview);
 
         // When
@@ -196,10 +281,27 @@ class ReviewServiceTest {
 
         // Then
         assertThat(result).isNotNull();
-        verify(reviewRepository).findById(reviewId);
+        verify(reviewRepository).findByIdForUpdate(reviewId);
         verify(reviewRepository).save(testReview);
         assertThat(testReview.getRating()).isEqualTo(newRating);
         assertThat(testReview.getComment()).isEqualTo(newComment);
+        verify(movieService).recordRatingChange(testMovie.getId(), newRating, 5);
+        verify(movieService, never()).updateMovieAverageRating(any());
+    }
+
+    @Test
+    @DisplayName("Should fail the update when the rating aggregates cannot be updated")
+    void updateReview_WhenRatingChangeFails_ShouldPropagate() {
+        // Given
+        when(reviewRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testReview));
+        when(reviewRepository.save(any(Review.class))).thenReturn(testReview);
+        when(movieService.recordRatingChange(testMovie.getId(), 3, 5))
+                .thenThrow(new DataIntegrityViolationException("rating update failed"));
+
+        // When & Then
+        assertThatThrownBy(() -> reviewService.updateReview(1L, 1L, 3, "Updated comment"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(recentReviews, never()).update(any());
     }
 
     @Test
@@ -208,14 +310,14 @@ class ReviewServiceTest {
         // Given
         Long reviewId = 999L;
         Long userId = 1L;
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.empty());
+        when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> reviewService.updateReview(reviewId, userId, 4, "Comment"))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Review not found with ID: " + reviewId);
 
-        verify(reviewRepository).findById(reviewId);
+        verify(reviewRepository).findByIdForUpdate(reviewId);
         verify(reviewRepository, never()).save(any());
     }
 
@@ -225,14 +327,14 @@ class ReviewServiceTest {
         // Given
         Long reviewId = 1L;
         Long wrongUserId = 999L;
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(testReview));
+        when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.of(testReview));
 
         // When & Then
         assertThatThrownBy(() -> reviewService.updateReview(reviewId, wrongUserId, 4, "Comment"))
                 .isInstanceOf(ValidationException.class)
                 .hasMessage("User not authorized to update this review.");
 
-        verify(reviewRepository).findById(reviewId);
+        verify(reviewRepository).findByIdForUpdate(reviewId);
         verify(reviewRepository, never()).save(any());
     }
 
@@ -242,14 +344,15 @@ class ReviewServiceTest {
         // Given
         Long reviewId = 1L;
         Long userId = 1L;
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(testReview));
+        when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.of(testReview));
 
         // When
         reviewService.deleteReview(reviewId, userId);
 
         // Then
-        verify(reviewRepository).findById(reviewId);
+        verify(reviewRepository).findByIdForUpdate(reviewId);
         verify(reviewRepository).delete(testReview);
+        verify(movieService).recordRatingChange(testMovie.getId(), 0, 5);
     }
 
     @Test
@@ -258,14 +361,45 @@ class ReviewServiceTest {
         // Given
         Long reviewId = 1L;
         Long wrongUserId = 999L;
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(testReview));
+        when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.of(testReview));
 
         // When & Then
         assertThatThrownBy(() -> reviewService.deleteReview(reviewId, wrongUserId))
                 .isInstanceOf(ValidationException.class)
                 .hasMessage("User not authorized to delete this review.");
 
-        verify(reviewRepository).findById(reviewId);
+        verify(reviewRepository).findByIdForUpdate(reviewId);
         verify(reviewRepository, never()).delete(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should serve recent reviews from the in-memory buffer")
+    void getRecentReviews_WhenBuffered_ShouldNotQueryDatabase() {
+        // Given
+        List<ReviewDTO> buffered = List.of(ReviewDTO.fromEntity(testReview));
+        when(recentReviews.latest(10)).thenReturn(Optional.of(buffered));
+
+        // When
+        List<ReviewDTO> result = reviewService.getRecentReviews(10);
+
+        // Then
+        assertThat(result).isEqualTo(buffered);
+        verify(reviewRepository, never()).findTopRecentAsDto(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database when the buffer cannot answer")
+    void getRecentReviews_WhenNotBuffered_ShouldQueryDatabase() {
+        // Given
+        when(recentReviews.latest(100)).thenReturn(Optional.empty());
+        when(reviewRepository.findTopRecentAsDto(any(Pageable.class))).thenReturn(List.of(ReviewDTO.fromEntity(testReview)));
+
+        // When
+        List<ReviewDTO> result = reviewService.getRecentReviews(100);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getMovieTitle()).isEqualTo("Test Movie");
+        assertThat(result.get(0).getUsername()).isEqualTo("testuser");
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
@@ -15,6 +16,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -92,4 +94,23 @@ public class UserServiceTest {
         assertTrue(result.isPresent());
         assertEquals("testuser", result.get().getUsername());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdatePasswordStoresUpgradedHash() {
+        // Given
+        UserDetails details = org.springframework.security.core.userdetails.User.withUsername("testuser")
+                .password("$2a$04$legacyhashlegacyhashlegacyhashlegacyhashlegacyhashleg")
+                .roles("USER")
+                .build();
+        String upgradedHash = passwordEncoder.encode("password123");
+        when(userRepository.updatePasswordByUsername("testuser", upgradedHash)).thenReturn(1);
+
+        // When
+        UserDetails result = userService.updatePassword(details, upgradedHash);
+
+        // Then
+        verify(userRepository).updatePasswordByUsername("testuser", upgradedHash);
+        assertEquals(upgradedHash, result.getPassword());
+        assertEquals("testuser", result.getUsername());
+    }
+}
@@ -0,0 +1,64 @@
+package com.moviereview.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements Hibernate prepares, for query-count assertions in tests.
+ * 
+ * Registered for every test through hibernate.session_factory.statement_inspector
+ * in the test application.properties. Statements are recorded per thread, so
+ * background work (index rebuilds, scheduled jobs) never leaks into a count;
+ * MockMvc requests run on the test thread and are included.
+ * 
+ * Usage:
+ * QueryCounter.reset();
+ * mockMvc.perform(get("/api/movies"));
+ * QueryCounter.assertStatementCount(2);
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    /**
+     * Forgets the statements recorded so far on this thread
+     */
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    /**
+     * @return Number of statements recorded on this thread since the last reset
+     */
+    public static int count() {
+        return STATEMENTS.get().size();
+    }
+
+    /**
+     * @return Statements recorded on this thread since the last reset, in order
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    /**
+     * Asserts the number of statements since the last reset, listing them on failure.
+     * 
+     * @param expected Expected number of statements
+     */
+    public static void assertStatementCount(int expected) {
+        assertThat(statements())
+                .as("SQL statements executed")
+                .hasSize(expected);
+    }
+}